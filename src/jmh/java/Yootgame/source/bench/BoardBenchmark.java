@@ -0,0 +1,120 @@
+package Yootgame.source.bench;
+
+import Yootgame.source.game.GameEngine;
+import Yootgame.source.game.YutBoard;
+import Yootgame.source.protocol.BinaryFrameCodec;
+import Yootgame.source.protocol.GameEvent.BoardDelta;
+import Yootgame.source.protocol.GameEvent.BoardSnapshot;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// BoardBenchmark.java 504 판 메시지를 만드는 비용과 칸 이동 계산(getArrowIdx) 비용.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BoardBenchmark {
+    private static final int[] ROLLS = { -1, 1, 2, 3, 4, 5 };
+
+    private GameEngine engine;
+    private byte[] before;
+    private byte[] after;
+
+    @Setup
+    public void setup() {
+        // 몇 수 둔 판. 자리 0 의 말 하나가 움직인 직후
+        engine = new GameEngine(4);
+        SplittableRandom random = new SplittableRandom(42);
+        for (int turn = 0; turn < 12; turn++) {
+            engine.roll(random);
+            if (!engine.legalMoves().isEmpty())
+                engine.apply(engine.currentSeat(), engine.legalMoves().get(0));
+            else
+                engine.giveUp(engine.currentSeat());
+        }
+        after = engine.board();
+        before = after.clone();
+        before[0] = (byte) (before[0] == -1 ? 0 : before[0] - 1);
+    }
+
+    // 예전 sendObjectInfo(): 말 한 칸마다 판 전체를 "user i j pos ..." 문자열로 만들었다
+    @Benchmark
+    public String snapshotLegacyString() {
+        return new BoardSnapshot(engine.board()).toLegacyData();
+    }
+
+    // 예전 클라이언트 case "504": 문자열을 split 해서 다시 푼다
+    @Benchmark
+    public BoardSnapshot snapshotLegacyParse() {
+        return BoardSnapshot.parse(new BoardSnapshot(after).toLegacyData());
+    }
+
+    // 지금 sendObjectInfo(): 바뀐 말만 골라 binary frame 으로
+    @Benchmark
+    public byte[] deltaBinaryFrame() {
+        BoardDelta delta = BoardDelta.diff(before, after);
+        return BinaryFrameCodec.encode("504", "SERVER", null, null, delta);
+    }
+
+    // 모든 (칸, 윷 결과)
+    @Benchmark
+    public void yutBoardNext(Blackhole bh) {
+        for (int from = YutBoard.HOME; from < YutBoard.GOAL; from++) {
+            for (int roll : ROLLS)
+                bh.consume(YutBoard.next(from, roll));
+        }
+    }
+
+    @Benchmark
+    public void legacyGetArrowIdx(Blackhole bh) {
+        for (int from = YutBoard.HOME; from < YutBoard.GOAL; from++) {
+            for (int roll : ROLLS)
+                bh.consume(roll == -1 ? legacyBackdo(from) : legacyGetArrowIdx(from, roll - 1));
+        }
+    }
+
+    // 예전 YutGameClientView 의 빽도 계산
+    private static int legacyBackdo(int objectPos) {
+        if (objectPos == 0)
+            return 19;
+        else if (objectPos == 25)
+            return 4;
+        else if (objectPos == 20)
+            return 9;
+        else
+            return objectPos - 1;
+    }
+
+    // 예전 YutGameServer.UserService / YutGameClientView 의 getArrowIdx
+    private static int legacyGetArrowIdx(int objectPos, int moveDist) {
+        int arrowIdx = 0;
+
+        if (objectPos == 4) {
+            if (moveDist == 2) arrowIdx = 22;
+            else if(moveDist == 0 || moveDist == 1) arrowIdx = 25 + moveDist;
+            else arrowIdx = 25 + moveDist - 1;
+        } else if (objectPos == 9) {
+            arrowIdx = 20 + moveDist;
+        } else if (objectPos >= 15 && objectPos <= 19) {
+            if (objectPos + moveDist + 1 > 19)
+                arrowIdx = 29; // 도착 시 처리
+            else arrowIdx = objectPos + moveDist + 1;
+        } else if (objectPos >= 20 && objectPos <= 24) {
+            if (objectPos + moveDist + 1 > 24) arrowIdx = 29;  // 도착 시 처리
+            else arrowIdx = objectPos + moveDist + 1;
+        } else if (objectPos >= 25 && objectPos <= 26) {
+            if(moveDist == 1 && objectPos == 25) arrowIdx = 22;
+            else if(moveDist == 0 && objectPos == 26) arrowIdx = 22;
+            else if(moveDist + objectPos <= 28) arrowIdx = moveDist + objectPos;
+            else arrowIdx = 14 + (29 - moveDist - objectPos);
+        }else if(objectPos >= 27 && objectPos <= 28) {
+            if(objectPos == 27 && moveDist == 0) arrowIdx = 28;
+            else arrowIdx = 14 + 28 - objectPos - moveDist;
+        }else {
+            arrowIdx = objectPos + moveDist + 1;
+        }
+        return arrowIdx;
+    }
+}
@@ -0,0 +1,93 @@
+package Yootgame.source.bench;
+
+import Yootgame.source.protocol.BinaryFrameCodec;
+import Yootgame.source.protocol.GameEvent;
+import Yootgame.source.protocol.GameEvent.BoardSnapshot;
+import Yootgame.source.server.ChatMsg;
+import Yootgame.source.server.ObjectStreamDecoder;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+// ProtocolBenchmark.java 메시지 하나를 보내는 쪽에서 바이트로 만들고 받는 쪽에서 다시 ChatMsg 로 푸는 비용.
+// ObjectStream(예전 형식, NIO 디코더) 과 binary frame 을 채팅(200), 판(504) 메시지로 비교한다.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ProtocolBenchmark {
+    private ChatMsg chat;
+    private ChatMsg board;
+    private ByteArrayOutputStream sink;
+    private ObjectOutputStream oos;
+    private ObjectStreamDecoder decoder;
+
+    @Setup
+    public void setup() throws IOException {
+        chat = new ChatMsg("user1", "200", "안녕하세요 윷놀이 한 판 하실 분");
+        byte[] positions = new byte[16];
+        Arrays.fill(positions, (byte) -1);
+        positions[0] = 3;
+        positions[1] = 22;
+        positions[5] = 14;
+        positions[9] = 27;
+        board = new ChatMsg("SERVER", "504", new BoardSnapshot(positions));
+
+        sink = new ByteArrayOutputStream();
+        oos = new ObjectOutputStream(sink);
+        decoder = new ObjectStreamDecoder();
+        objectStreamRoundTrip(chat); // stream header 는 첫 메시지와 같이 읽힌다
+    }
+
+    // 접속 하나의 ObjectOutputStream 으로 쓰고 NioServer 의 디코더로 읽는다.
+    // 매번 reset() 해서 handle 표가 끝없이 커지지 않게 한다 (TC_RESET 1 바이트가 더 나간다).
+    private ChatMsg objectStreamRoundTrip(ChatMsg msg) throws IOException {
+        oos.reset();
+        oos.writeObject(msg.code);
+        oos.writeObject(msg.UserName);
+        oos.writeObject(msg.legacyData());
+        ChatMsg cm = decoder.decode(ByteBuffer.wrap(drain()));
+        cm.event = GameEvent.parseFromServer(cm.code, cm.data);
+        return cm;
+    }
+
+    private static ChatMsg binaryRoundTrip(ChatMsg msg) throws IOException {
+        byte[] frame = BinaryFrameCodec.encode(msg.code, msg.UserName, msg.data, msg.imgbytes, msg.event);
+        BinaryFrameCodec.Frame f = BinaryFrameCodec.decode(ByteBuffer.wrap(frame));
+        ChatMsg cm = new ChatMsg(f.userName(), f.code(), f.data());
+        cm.event = f.event();
+        return cm;
+    }
+
+    private byte[] drain() throws IOException {
+        oos.flush();
+        byte[] bytes = sink.toByteArray();
+        sink.reset();
+        return bytes;
+    }
+
+    @Benchmark
+    public ChatMsg chatObjectStream() throws IOException {
+        return objectStreamRoundTrip(chat);
+    }
+
+    @Benchmark
+    public ChatMsg chatBinary() throws IOException {
+        return binaryRoundTrip(chat);
+    }
+
+    @Benchmark
+    public ChatMsg boardObjectStream() throws IOException {
+        board.data = null; // 매번 문자열을 새로 만든다
+        return objectStreamRoundTrip(board);
+    }
+
+    @Benchmark
+    public ChatMsg boardBinary() throws IOException {
+        return binaryRoundTrip(board);
+    }
+}
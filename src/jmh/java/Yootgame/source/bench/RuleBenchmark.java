@@ -0,0 +1,55 @@
+package Yootgame.source.bench;
+
+import Yootgame.source.game.GameEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// RuleBenchmark.java 501 윷 던지기와 한 수 두기(legalMoves + apply) 비용.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RuleBenchmark {
+    private GameEngine engine;
+    private SplittableRandom random;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        engine = new GameEngine(4);
+        random = new SplittableRandom(7);
+    }
+
+    // 예전 501 처리: 던질 때마다 Random 을 새로 만들고 시각으로 seed
+    @Benchmark
+    public GameEngine.Roll rollNewRandomPerCall() {
+        Random r = new Random();
+        r.setSeed(System.currentTimeMillis());
+        GameEngine.Roll roll = engine.roll(r);
+        if (engine.getPendingCnt() > 4)
+            engine.pass();
+        return roll;
+    }
+
+    @Benchmark
+    public GameEngine.Roll rollSharedRandom() {
+        GameEngine.Roll roll = engine.roll(random);
+        if (engine.getPendingCnt() > 4)
+            engine.pass();
+        return roll;
+    }
+
+    // 윷을 던지고 둘 수 있는 수 중 하나를 둔다
+    @Benchmark
+    public GameEngine.MoveResult rollAndMove() {
+        engine.roll(random);
+        List<GameEngine.Move> moves = engine.legalMoves();
+        if (moves.isEmpty()) {
+            engine.pass();
+            return null;
+        }
+        return engine.apply(engine.currentSeat(), moves.get(random.nextInt(moves.size())));
+    }
+}
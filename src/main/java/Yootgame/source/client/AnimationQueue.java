@@ -0,0 +1,39 @@
+package Yootgame.source.client;
+
+import javax.swing.*;
+import java.util.ArrayDeque;
+
+// AnimationQueue.java 턴 안내, 윷 흔들기, 결과 표시처럼 시간이 걸리는 화면 효과를 넣은 순서대로 보여 준다.
+// 단계마다 action 을 실행하고 delayMs 뒤에 다음 단계로 간다. 기다리는 동안 스레드를 재우지 않고 Timer 를 쓴다.
+// EDT 에서만 부른다.
+class AnimationQueue {
+    private record Step(int delayMs, Runnable action) {
+    }
+
+    private final ArrayDeque<Step> steps = new ArrayDeque<>();
+    private final Timer timer = new Timer(0, e -> runNext());
+    private boolean busy = false; // 단계 하나를 보여 주는 중
+
+    AnimationQueue() {
+        timer.setRepeats(false);
+    }
+
+    // 앞의 단계가 끝나면 action 을 실행하고 delayMs 동안 다음 단계를 기다린다
+    void then(int delayMs, Runnable action) {
+        steps.add(new Step(delayMs, action));
+        if (!busy)
+            runNext();
+    }
+
+    private void runNext() {
+        Step step = steps.poll();
+        if (step == null) {
+            busy = false;
+            return;
+        }
+        busy = true;
+        step.action().run();
+        timer.setInitialDelay(step.delayMs());
+        timer.restart();
+    }
+}
@@ -0,0 +1,204 @@
+package Yootgame.source.client;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseListener;
+import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+// BoardCanvas.java 윷판(배경, 칸, 화살표, 말)을 Canvas 하나에 직접 그린다. -Dyut.canvasBoard=true 일 때만 쓴다.
+//
+// 화살표, 말 JLabel 은 화면에 넣지 않고 상태(보이는지, 위치)만 가진다. 클릭 처리(MyMouseAdapter)는 그대로 쓴다.
+// FRAME_MS 마다 EDT 에서 label 상태를 지난 프레임과 비교해 바뀐 자리(dirty rect)만 scene 에 다시 그리고,
+// 바뀐 것이 있을 때만 BufferStrategy 로 화면에 낸다. 바뀐 것이 없으면 아무것도 그리지 않는다.
+// 클릭은 spotPos 표로 화살표, 말 자리를 찾아 그 JLabel 이 보낸 것처럼 MyMouseAdapter 에 넘긴다.
+class BoardCanvas extends Canvas {
+    private static final long serialVersionUID = 1L;
+
+    static final int FRAME_MS = 16; // 60 fps
+
+    private final int[][] spotPos;
+    private final int spotCnt; // 칸 그림이 있는 칸 수. 도착 칸(29)에는 그림이 없다
+    private final JLabel[] arrows;
+    private final JLabel[] pieces;
+    private final ImageIcon mainBackground;
+    private final ImageIcon boardBackground;
+    private final Point boardOrigin;
+    private final ImageIcon smallSpot;
+    private final ImageIcon bigSpot;
+    private final ImageIcon arrowIcon;
+
+    private transient BufferedImage scene; // 지금 화면 그대로. dirty rect 만 고친다
+    private transient BufferStrategy strategy;
+    private final Timer frameTimer = new Timer(FRAME_MS, e -> render());
+
+    // 지난 프레임에 그린 상태
+    private final boolean[] arrowShown;
+    private final Rectangle[] pieceDrawn; // 보이지 않았으면 null
+    private final transient List<Rectangle> dirty = new ArrayList<>();
+    private boolean fullRedraw = true;
+    private int spriteGeneration = -1; // 마지막으로 전부 그릴 때의 SpriteCache.generation()
+
+    BoardCanvas(int[][] spotPos, int spotCnt, JLabel[] arrows, JLabel[] pieces, ImageIcon mainBackground,
+            ImageIcon boardBackground, Point boardOrigin, ImageIcon smallSpot, ImageIcon bigSpot, ImageIcon arrowIcon,
+            MouseListener clicks) {
+        this.spotPos = spotPos;
+        this.spotCnt = spotCnt;
+        this.arrows = arrows;
+        this.pieces = pieces;
+        this.mainBackground = mainBackground;
+        this.boardBackground = boardBackground;
+        this.boardOrigin = boardOrigin;
+        this.smallSpot = smallSpot;
+        this.bigSpot = bigSpot;
+        this.arrowIcon = arrowIcon;
+        this.arrowShown = new boolean[arrows.length];
+        this.pieceDrawn = new Rectangle[pieces.length];
+        setIgnoreRepaint(true); // 시스템이 부르는 paint 대신 render() 로 그린다
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                JLabel hit = hitTest(e.getX(), e.getY());
+                if (hit != null)
+                    clicks.mouseClicked(new MouseEvent(hit, e.getID(), e.getWhen(), e.getModifiersEx(),
+                            e.getX() - hit.getX(), e.getY() - hit.getY(), e.getClickCount(), e.isPopupTrigger()));
+            }
+        });
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        createBufferStrategy(2);
+        strategy = getBufferStrategy();
+        fullRedraw = true;
+        frameTimer.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        frameTimer.stop();
+        strategy = null;
+        super.removeNotify();
+    }
+
+    // 창이 가려졌다 나타난 경우 등. 다음 프레임에 전부 다시 낸다
+    @Override
+    public void paint(Graphics g) {
+        fullRedraw = true;
+    }
+
+    @Override
+    public void update(Graphics g) {
+        paint(g);
+    }
+
+    // 말이 위, 그 아래 화살표 순서로 찾는다. 그리는 순서의 반대
+    JLabel hitTest(int x, int y) {
+        for (int slot = pieces.length - 1; slot >= 0; slot--) {
+            if (pieces[slot].isVisible() && pieces[slot].getBounds().contains(x, y))
+                return pieces[slot];
+        }
+        for (int i = arrows.length - 1; i >= 0; i--) {
+            if (arrows[i].isVisible() && arrowBounds(i).contains(x, y))
+                return arrows[i];
+        }
+        return null;
+    }
+
+    private Rectangle arrowBounds(int spot) {
+        if (spotPos[spot][4] == 1)
+            return new Rectangle(spotPos[spot][0] + 17, spotPos[spot][1] - 25, 45, 25);
+        return new Rectangle(spotPos[spot][0] + 8, spotPos[spot][1] - 25, 45, 25);
+    }
+
+    // 한 프레임. 바뀐 자리만 scene 에 다시 그리고, 바뀐 것이 있으면 화면에 낸다
+    private void render() {
+        if (strategy == null || getWidth() == 0 || getHeight() == 0)
+            return;
+        if (scene == null || scene.getWidth() != getWidth() || scene.getHeight() != getHeight()) {
+            scene = getGraphicsConfiguration().createCompatibleImage(getWidth(), getHeight());
+            fullRedraw = true;
+        }
+        collectDirty();
+        if (spriteGeneration != SpriteCache.generation()) { // 그림이 새로 준비됐다
+            spriteGeneration = SpriteCache.generation();
+            fullRedraw = true;
+        }
+        if (fullRedraw) {
+            dirty.clear();
+            dirty.add(new Rectangle(0, 0, getWidth(), getHeight()));
+        }
+        if (dirty.isEmpty())
+            return;
+
+        Graphics2D sg = scene.createGraphics();
+        for (Rectangle r : dirty) {
+            sg.setClip(r);
+            drawScene(sg);
+        }
+        sg.dispose();
+        dirty.clear();
+        fullRedraw = false;
+
+        do {
+            do {
+                Graphics g = strategy.getDrawGraphics();
+                g.drawImage(scene, 0, 0, null);
+                g.dispose();
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync();
+    }
+
+    // label 상태를 지난 프레임과 비교해 바뀐 자리의 전과 후를 dirty 에 넣는다
+    private void collectDirty() {
+        for (int i = 0; i < arrows.length; i++) {
+            boolean shown = arrows[i].isVisible();
+            if (shown != arrowShown[i]) {
+                arrowShown[i] = shown;
+                dirty.add(arrowBounds(i));
+            }
+        }
+        for (int slot = 0; slot < pieces.length; slot++) {
+            Rectangle now = pieces[slot].isVisible() ? pieces[slot].getBounds() : null;
+            Rectangle before = pieceDrawn[slot];
+            if (now == null ? before == null : now.equals(before))
+                continue;
+            if (before != null)
+                dirty.add(before);
+            if (now != null)
+                dirty.add(now);
+            pieceDrawn[slot] = now;
+        }
+    }
+
+    // clip 안만 그려진다. 예전 component 순서대로: 배경, 판, 칸, 화살표, 말
+    private void drawScene(Graphics2D g) {
+        g.drawImage(mainBackground.getImage(), 0, 0, null);
+        g.drawImage(boardBackground.getImage(), boardOrigin.x, boardOrigin.y, null);
+        Rectangle clip = g.getClipBounds();
+        for (int i = 0; i < spotCnt; i++) {
+            if (!clip.intersects(spotPos[i][0], spotPos[i][1], spotPos[i][2], spotPos[i][3]))
+                continue;
+            ImageIcon spot = spotPos[i][4] == 1 ? bigSpot : smallSpot;
+            g.drawImage(spot.getImage(), spotPos[i][0], spotPos[i][1], null);
+        }
+        for (int i = 0; i < arrows.length; i++) {
+            if (arrowShown[i]) {
+                Rectangle r = arrowBounds(i);
+                g.drawImage(arrowIcon.getImage(), r.x, r.y, null);
+            }
+        }
+        for (int slot = 0; slot < pieces.length; slot++) {
+            Rectangle r = pieceDrawn[slot];
+            if (r != null && clip.intersects(r))
+                g.drawImage(((ImageIcon) pieces[slot].getIcon()).getImage(), r.x, r.y, null);
+        }
+    }
+}
@@ -26,6 +26,7 @@ public class JavaGameClientMain extends JFrame {
      * Launch the application.
      */
     public static void main(String[] args) {
+        SpriteCache.preload(); // 이름, 주소를 적는 동안 게임 창 그림을 배경에서 읽어 둔다
         EventQueue.invokeLater(new Runnable() {
             public void run() {
                 try {
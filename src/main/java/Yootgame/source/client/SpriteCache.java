@@ -0,0 +1,151 @@
+package Yootgame.source.client;
+
+import javax.imageio.ImageIO;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// SpriteCache.java 클라이언트 그림을 (파일, 가로, 세로) 마다 한 번만 읽고 줄여 둔다.
+// 그림은 classpath 의 images/ (src/main/resources/Yootgame/source/client/images) 에서 읽으므로 jar 로 묶어도 된다.
+//
+// icon() 은 기다리지 않는다. 처음 부르면 같은 크기의 투명한 자리표시 그림을 돌려주고, 읽고 줄이는 일은
+// 배경 스레드(LOADERS)에서 한다. 다 되면 EDT 에서 그 ImageIcon 의 그림을 바꾸고 창들을 다시 그린다.
+// 로그인 화면(JavaGameClientMain)에서 preload() 를 불러 두면 게임 창이 뜰 때는 대부분 준비되어 있다.
+// 줄인 그림은 화면과 같은 형식(createCompatibleImage)으로 옮겨 두므로 그릴 때는 복사(blit)만 한다.
+public final class SpriteCache {
+    private static final String IMAGE_DIR = "images/"; // 이 클래스의 package 기준
+
+    // 말 캐릭터 그림 크기. 대기실 큰 그림, 남은 말 옆 작은 그림, 판 위의 말
+    public static final int CHAR_W = 80, CHAR_H = 125;
+    public static final int ICON_W = 20, ICON_H = 30;
+    public static final int PIECE_W = 35, PIECE_H = 50;
+
+    private static final int NATURAL = -1; // 원래 크기
+
+    private record Key(String name, int width, int height) {
+    }
+
+    // 게임 창이 쓰는 그림과 크기. preload() 가 이것들을 미리 읽는다
+    private static final List<Key> ASSETS = List.of(
+            new Key("bg_main.jpg", NATURAL, NATURAL),
+            new Key("bg_yut.png", NATURAL, NATURAL),
+            new Key("bg_character.png", NATURAL, NATURAL),
+            new Key("bg_gamepanel.png", NATURAL, NATURAL),
+            new Key("ic_game_small_spot.png", 60, 60),
+            new Key("ic_game_bic_spot.png", 80, 80),
+            new Key("ic_game_bic_spot.png", 300, 200),
+            new Key("img_game_start.png", 280, 70),
+            new Key("img_game_start_hover.png", 280, 70),
+            new Key("img_game_ready.png", 280, 70),
+            new Key("img_game_ready_hover.png", 280, 70),
+            new Key("img_game_ready_finish.png", 280, 70),
+            new Key("img_game_ready_finish_hover.png", 280, 70),
+            new Key("img_user_ready.png", 135, 30),
+            new Key("img_crown.png", 40, 40),
+            new Key("img_arrow.png", 45, 25),
+            new Key("img_roll.png", 280, 70),
+            new Key("img_roll_hover.png", 280, 70),
+            new Key("img_yut_front.png", 70, 280),
+            new Key("img_yut_back.png", 70, 280),
+            new Key("img_yut_special.png", 70, 280));
+
+    private static final Map<Key, ImageIcon> ICONS = new ConcurrentHashMap<>();
+    private static final ExecutorService LOADERS = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()), r -> {
+                Thread t = new Thread(r, "sprite-loader");
+                t.setDaemon(true);
+                return t;
+            });
+    private static volatile int generation = 0; // 그림이 하나 준비될 때마다 1 증가 (BoardCanvas 가 다시 그릴지 본다)
+
+    private SpriteCache() {
+    }
+
+    // 원래 크기 그대로. 준비되기 전에는 1x1 투명 그림
+    public static ImageIcon icon(String name) {
+        return icon(name, NATURAL, NATURAL);
+    }
+
+    // width x height 로 줄인 그림. 준비되기 전에는 같은 크기의 투명 그림이고, 준비되면 같은 ImageIcon 이 바뀐다
+    public static ImageIcon icon(String name, int width, int height) {
+        return ICONS.computeIfAbsent(new Key(name, width, height), SpriteCache::request);
+    }
+
+    // 자리(userIdx) 의 캐릭터 그림
+    public static ImageIcon character(int userIdx, int width, int height) {
+        return icon("character" + (userIdx + 1) + ".png", width, height);
+    }
+
+    // 게임 창에서 쓰는 그림을 모두 배경에서 읽기 시작한다. 기다리지 않는다
+    public static void preload() {
+        for (Key key : ASSETS)
+            icon(key.name(), key.width(), key.height());
+        for (int userIdx = 0; userIdx < 4; userIdx++) {
+            character(userIdx, CHAR_W, CHAR_H);
+            character(userIdx, ICON_W, ICON_H);
+            character(userIdx, PIECE_W, PIECE_H);
+        }
+    }
+
+    static int generation() {
+        return generation;
+    }
+
+    // 자리표시 ImageIcon 을 만들고 읽기를 맡긴다
+    private static ImageIcon request(Key key) {
+        int width = key.width() == NATURAL ? 1 : key.width();
+        int height = key.height() == NATURAL ? 1 : key.height();
+        ImageIcon icon = new ImageIcon(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB));
+        LOADERS.execute(() -> {
+            BufferedImage sprite = load(key);
+            if (sprite == null) // 예전 new ImageIcon(path) 처럼 그림이 없으면 빈 채로 둔다
+                return;
+            SwingUtilities.invokeLater(() -> {
+                icon.setImage(sprite);
+                generation++;
+                for (Window window : Window.getWindows())
+                    window.repaint();
+            });
+        });
+        return icon;
+    }
+
+    private static BufferedImage load(Key key) {
+        BufferedImage src;
+        try (InputStream in = SpriteCache.class.getResourceAsStream(IMAGE_DIR + key.name())) {
+            src = in == null ? null : ImageIO.read(in);
+        } catch (IOException e) {
+            src = null;
+        }
+        if (src == null)
+            return null;
+        int width = key.width() == NATURAL ? src.getWidth() : key.width();
+        int height = key.height() == NATURAL ? src.getHeight() : key.height();
+        Image scaled = src;
+        if (width != src.getWidth() || height != src.getHeight()) // 예전과 같은 품질로 한 번만 줄인다
+            scaled = new ImageIcon(src.getScaledInstance(width, height, Image.SCALE_SMOOTH)).getImage();
+
+        BufferedImage sprite = compatibleImage(width, height, src.getColorModel().getTransparency());
+        Graphics2D g = sprite.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+        g.drawImage(scaled, 0, 0, null);
+        g.dispose();
+        return sprite;
+    }
+
+    private static BufferedImage compatibleImage(int width, int height, int transparency) {
+        if (GraphicsEnvironment.isHeadless())
+            return new BufferedImage(width, height, transparency == Transparency.OPAQUE
+                    ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDefaultConfiguration();
+        return gc.createCompatibleImage(width, height, transparency);
+    }
+}
@@ -1,6 +1,20 @@
 package Yootgame.source.client;
 
 
+import Yootgame.source.game.GameEngine;
+import Yootgame.source.game.YutBoard;
+import Yootgame.source.log.Log;
+import Yootgame.source.protocol.BinaryFrameCodec;
+import Yootgame.source.protocol.GameEvent;
+import Yootgame.source.protocol.GameEvent.BoardDelta;
+import Yootgame.source.protocol.GameEvent.BoardSnapshot;
+import Yootgame.source.protocol.GameEvent.MoveRequest;
+import Yootgame.source.protocol.GameEvent.PendingRolls;
+import Yootgame.source.protocol.GameEvent.RestCounts;
+import Yootgame.source.protocol.GameEvent.RollResult;
+import Yootgame.source.protocol.GameEvent.TurnChange;
+import Yootgame.source.protocol.GameEvent.UserInfo;
+
 import javax.imageio.ImageIO;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -15,13 +29,16 @@ import java.io.*;
 import java.net.Socket;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class YutGameClientView extends JFrame {
     /**
      *
      */
     private static final long serialVersionUID = 1L;
+    private static final Log LOG = Log.get("client"); // -Dyut.log.client=DEBUG 로 메시지/클릭 추적
     private static final int SCREEN_WIDTH = 1280;
     private static final int SCREEN_HEIGHT = 900;
     private JPanel contentPane;
@@ -37,6 +54,10 @@ public class YutGameClientView extends JFrame {
 
     private ObjectInputStream ois;
     private ObjectOutputStream oos;
+    // 기본은 BinaryFrameCodec 형식(dis/dos). -Dyut.wire=object 면 예전 ObjectStream 형식(ois/oos)
+    private final boolean binaryWire = !"object".equals(System.getProperty("yut.wire"));
+    // 윷판을 BoardCanvas 하나에 그린다. 끄면 예전처럼 칸, 화살표, 말마다 JLabel
+    private final boolean canvasBoard = Boolean.getBoolean("yut.canvasBoard");
 
     private JLabel lblUserName;
     // private JTextArea textArea;
@@ -48,64 +69,30 @@ public class YutGameClientView extends JFrame {
     private JButton btnGameStart;
     private JButton btnRollYut;
 
-    private Image mainBackground = new ImageIcon("src/main/java/Yootgame/source/client/images/bg_main.jpg").getImage();
-    private Image yutBackground = new ImageIcon("src/main/java/Yootgame/source/client/images/bg_yut.png").getImage();
-    private Image charbackground = new ImageIcon("src/main/java/Yootgame/source/client/images/bg_character.png").getImage();
-    private Image background = new ImageIcon("src/main/java/Yootgame/source/client/images/bg_gamepanel.png").getImage();
-    private ImageIcon imgGameSmallSpot = new ImageIcon("src/main/java/Yootgame/source/client/images/ic_game_small_spot.png");
-    private ImageIcon imgGameBigSpot = new ImageIcon("src/main/java/Yootgame/source/client/images/ic_game_bic_spot.png");
-    private ImageIcon character1 = new ImageIcon("src/main/java/Yootgame/source/client/images/character1.png");
-    private ImageIcon character2 = new ImageIcon("src/main/java/Yootgame/source/client/images/character2.png");
-    private ImageIcon character3 = new ImageIcon("src/main/java/Yootgame/source/client/images/character3.png");
-    private ImageIcon character4 = new ImageIcon("src/main/java/Yootgame/source/client/images/character4.png");
-
-    private ImageIcon gameStartImage = new ImageIcon("src/main/java/Yootgame/source/client/images/img_game_start.png");
-    private ImageIcon gameStartHoverImage = new ImageIcon("src/main/java/Yootgame/source/client/images/img_game_start_hover.png");
-    private ImageIcon gameReadyImage = new ImageIcon("src/main/java/Yootgame/source/client/images/img_game_ready.png");
-    private ImageIcon gameReadyHoverImage = new ImageIcon("src/main/java/Yootgame/source/client/images/img_game_ready_hover.png");
-    private ImageIcon gameReadyFinishImage = new ImageIcon("src/main/java/Yootgame/source/client/images/img_game_ready_finish.png");
-    private ImageIcon gameReadyFinishHoverImage = new ImageIcon("src/main/java/Yootgame/source/client/images/img_game_ready_finish_hover.png");
-    private ImageIcon userReadyImage = new ImageIcon("src/main/java/Yootgame/source/client/images/img_user_ready.png");
-    private ImageIcon rollImage = new ImageIcon("src/main/java/Yootgame/source/client/images/img_roll.png");
-    private ImageIcon rollHoverImage = new ImageIcon("src/main/java/Yootgame/source/client/images/img_roll_hover.png");
-    private ImageIcon yutFrontImage = new ImageIcon("src/main/java/Yootgame/source/client/images/img_yut_front.png");
-    private ImageIcon yutBackImage = new ImageIcon("src/main/java/Yootgame/source/client/images/img_yut_back.png");
-    private ImageIcon yutSpecialImage = new ImageIcon("src/main/java/Yootgame/source/client/images/img_yut_special.png");
-    private ImageIcon crownImage = new ImageIcon("src/main/java/Yootgame/source/client/images/img_crown.png");
-    private ImageIcon arrowImage = new ImageIcon("src/main/java/Yootgame/source/client/images/img_arrow.png");
-
-    private ImageIcon gameSmallSpot = new ImageIcon(
-            imgGameSmallSpot.getImage().getScaledInstance(60, 60, Image.SCALE_SMOOTH));
-    private ImageIcon gameBigSpot = new ImageIcon(
-            imgGameBigSpot.getImage().getScaledInstance(80, 80, Image.SCALE_SMOOTH));
-
-    private ImageIcon img_gameStart = new ImageIcon(
-            gameStartImage.getImage().getScaledInstance(280, 70, Image.SCALE_SMOOTH));
-    private ImageIcon img_gameStartHover = new ImageIcon(
-            gameStartHoverImage.getImage().getScaledInstance(280, 70, Image.SCALE_SMOOTH));
-    private ImageIcon img_gameReady = new ImageIcon(
-            gameReadyImage.getImage().getScaledInstance(280, 70, Image.SCALE_SMOOTH));
-    private ImageIcon img_gameReadyHover = new ImageIcon(
-            gameReadyHoverImage.getImage().getScaledInstance(280, 70, Image.SCALE_SMOOTH));
-    private ImageIcon img_gameReadyFinish = new ImageIcon(
-            gameReadyFinishImage.getImage().getScaledInstance(280, 70, Image.SCALE_SMOOTH));
-    private ImageIcon img_gameReadyFinishHover = new ImageIcon(
-            gameReadyFinishHoverImage.getImage().getScaledInstance(280, 70, Image.SCALE_SMOOTH));
-    private ImageIcon img_userReady = new ImageIcon(
-            userReadyImage.getImage().getScaledInstance(135, 30, Image.SCALE_SMOOTH));
-
-    private ImageIcon img_crown = new ImageIcon(crownImage.getImage().getScaledInstance(40, 40, Image.SCALE_SMOOTH));
-    private ImageIcon img_arrow = new ImageIcon(arrowImage.getImage().getScaledInstance(45, 25, Image.SCALE_SMOOTH));
-
-    private ImageIcon img_roll = new ImageIcon(rollImage.getImage().getScaledInstance(280, 70, Image.SCALE_SMOOTH));
-    private ImageIcon img_rollHover = new ImageIcon(
-            rollHoverImage.getImage().getScaledInstance(280, 70, Image.SCALE_SMOOTH));
-    private ImageIcon img_yutFront = new ImageIcon(
-            yutFrontImage.getImage().getScaledInstance(70, 280, Image.SCALE_SMOOTH));
-    private ImageIcon img_yutBack = new ImageIcon(
-            yutBackImage.getImage().getScaledInstance(70, 280, Image.SCALE_SMOOTH));
-    private ImageIcon img_yutSpecial = new ImageIcon(
-            yutSpecialImage.getImage().getScaledInstance(70, 280, Image.SCALE_SMOOTH));
+    private ImageIcon mainBackground = SpriteCache.icon("bg_main.jpg");
+    private ImageIcon yutBackground = SpriteCache.icon("bg_yut.png");
+    private ImageIcon charbackground = SpriteCache.icon("bg_character.png");
+    private ImageIcon background = SpriteCache.icon("bg_gamepanel.png");
+
+    private ImageIcon gameSmallSpot = SpriteCache.icon("ic_game_small_spot.png", 60, 60);
+    private ImageIcon gameBigSpot = SpriteCache.icon("ic_game_bic_spot.png", 80, 80);
+
+    private ImageIcon img_gameStart = SpriteCache.icon("img_game_start.png", 280, 70);
+    private ImageIcon img_gameStartHover = SpriteCache.icon("img_game_start_hover.png", 280, 70);
+    private ImageIcon img_gameReady = SpriteCache.icon("img_game_ready.png", 280, 70);
+    private ImageIcon img_gameReadyHover = SpriteCache.icon("img_game_ready_hover.png", 280, 70);
+    private ImageIcon img_gameReadyFinish = SpriteCache.icon("img_game_ready_finish.png", 280, 70);
+    private ImageIcon img_gameReadyFinishHover = SpriteCache.icon("img_game_ready_finish_hover.png", 280, 70);
+    private ImageIcon img_userReady = SpriteCache.icon("img_user_ready.png", 135, 30);
+
+    private ImageIcon img_crown = SpriteCache.icon("img_crown.png", 40, 40);
+    private ImageIcon img_arrow = SpriteCache.icon("img_arrow.png", 45, 25);
+
+    private ImageIcon img_roll = SpriteCache.icon("img_roll.png", 280, 70);
+    private ImageIcon img_rollHover = SpriteCache.icon("img_roll_hover.png", 280, 70);
+    private ImageIcon img_yutFront = SpriteCache.icon("img_yut_front.png", 70, 280);
+    private ImageIcon img_yutBack = SpriteCache.icon("img_yut_back.png", 70, 280);
+    private ImageIcon img_yutSpecial = SpriteCache.icon("img_yut_special.png", 70, 280);
 
     private JLabel[] gameSpot = new JLabel[29];
 
@@ -117,6 +104,10 @@ public class YutGameClientView extends JFrame {
     private JLabel[] userNameText = new JLabel[4];
     private int[] userObjectCnt = new int[] { 4, 4, 4, 4 };
     private JLabel[] yutObjectLabel = new JLabel[4];
+    private final SplittableRandom shakeRandom = new SplittableRandom(); // 윷 흔드는 화면용. 결과는 서버가 정한다
+    private final ConcurrentLinkedQueue<ChatMsg> inbox = new ConcurrentLinkedQueue<>(); // ListenNetwork -> EDT
+    private final AtomicBoolean drainScheduled = new AtomicBoolean(); // DrainInbox 가 EDT 에 이미 예약됐는지
+    private final AnimationQueue animations = new AnimationQueue(); // 턴 안내, 윷 결과 표시. EDT 에서만
     private JLabel yutResultBgLabel = new JLabel();
     private JLabel yutResultTextLabel = new JLabel();
     private JLabel[] userReadyLabel = new JLabel[4];
@@ -138,10 +129,16 @@ public class YutGameClientView extends JFrame {
     private int restUserObjectCnt = 4;
     private int[] userMoveYutCase;
     private ArrayList<JLabel> tempArrowList = new ArrayList();
+    private ArrayList<Integer> tempArrowRollIdx = new ArrayList<>(); // tempArrowList 와 같은 순서. 그 화살표가 쓰는 윷 결과 번호
     private int[] userObjectPos = new int[] { -1, -1, -1, -1 };
     private JLabel clickObjectLabel;
     private String userClickObjectName = "";
-    private List<JLabel> gameObjectList = new ArrayList();
+    // [userIdx * 4 + 말 번호] 말 label. 처음에 16 개를 만들어 두고 옮기거나 숨기기만 한다
+    private JLabel[] pieceLabels = new JLabel[16];
+    private static final int MOVE_STEP_MS = 500; // 말이 한 칸 가는 시간
+    private Timer moveTimer; // 이동 경로를 한 칸씩 보여 준다 (EDT)
+    private BoardDelta movingDelta; // 보여 주는 중인 이동. 끝나면 적용한다
+    private int movingStep;
 
     private int[][] spotPos = new int[][] { { 670, 450, 60, 60, 0 }, { 670, 350, 60, 60, 0 }, { 670, 250, 60, 60, 0 },
             { 670, 150, 60, 60, 0 }, { 660, 30, 80, 80, 1 }, { 540, 40, 60, 60, 0 }, { 420, 40, 60, 60, 0 },
@@ -158,12 +155,13 @@ public class YutGameClientView extends JFrame {
      * Create the frame.
      */
     public YutGameClientView(String username, String ip_addr, String port_no) {
+        SpriteCache.preload(); // 로그인 화면에서 이미 시작했으면 그대로 둔다
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setResizable(false);
         setBounds(100, 100, SCREEN_WIDTH, SCREEN_HEIGHT);
         contentPane = new JPanel() {
             public void paintComponent(Graphics g) {
-                g.drawImage(mainBackground, 0, 0, null);
+                g.drawImage(mainBackground.getImage(), 0, 0, null);
                 setOpaque(false);
                 super.paintComponent(g);
             }
@@ -183,7 +181,8 @@ public class YutGameClientView extends JFrame {
             else
                 arrowLabel[i].setBounds(spotPos[i][0] + 8, spotPos[i][1] - 25, 45, 25);
             arrowLabel[i].addMouseListener(new MyMouseAdapter());
-            contentPane.add(arrowLabel[i]);
+            if (!canvasBoard)
+                contentPane.add(arrowLabel[i]);
         }
 
         for (int i = 0; i < 29; i++) {
@@ -199,18 +198,20 @@ public class YutGameClientView extends JFrame {
 
                 }
             });
-            contentPane.add(gameSpot[i]);
+            if (!canvasBoard)
+                contentPane.add(gameSpot[i]);
         }
 
         JPanel panel = new JPanel() {
             public void paintComponent(Graphics g) {
-                g.drawImage(background, 0, 0, null);
+                g.drawImage(background.getImage(), 0, 0, null);
                 setOpaque(false);
                 super.paintComponent(g);
             }
         };
         panel.setBounds(24, 10, 780, 650);
-        contentPane.add(panel);
+        if (!canvasBoard)
+            contentPane.add(panel);
 
         for (int i = 0; i < 4; i++) {
             userReadyLabel[i] = new JLabel();
@@ -248,7 +249,7 @@ public class YutGameClientView extends JFrame {
             userList[i] = new UserData(-1, "");
             userPanel[i] = new JPanel() {
                 public void paintComponent(Graphics g) {
-                    g.drawImage(charbackground, 0, 0, null);
+                    g.drawImage(charbackground.getImage(), 0, 0, null);
                     setOpaque(false);
                     super.paintComponent(g);
                 }
@@ -262,48 +263,48 @@ public class YutGameClientView extends JFrame {
                 userPanel[i].setBounds(24, 680, 135, 169);
                 userImageLabel[i].setBounds(28, 720, 80, 125);
                 userImageLabel[i]
-                        .setIcon(new ImageIcon(character1.getImage().getScaledInstance(80, 125, Image.SCALE_SMOOTH)));
+                        .setIcon(SpriteCache.character(0, SpriteCache.CHAR_W, SpriteCache.CHAR_H));
                 userNameText[i].setBounds(30, 685, 135, 20);
                 userNameText[i].setText("Username1");
                 userObjectLabel[i].setBounds(115, 705, 20, 30);
                 userObjectLabel[i]
-                        .setIcon(new ImageIcon(character1.getImage().getScaledInstance(20, 30, Image.SCALE_SMOOTH)));
+                        .setIcon(SpriteCache.character(0, SpriteCache.ICON_W, SpriteCache.ICON_H));
                 userObjectCntLabel[i].setBounds(140, 710, 20, 25);
                 userObjectCntLabel[i].setFont(new Font("bold", Font.PLAIN, 30));
             } else if (i == 1) {
                 userPanel[i].setBounds(243, 680, 135, 169);
                 userImageLabel[i].setBounds(248, 720, 80, 125);
                 userImageLabel[i]
-                        .setIcon(new ImageIcon(character2.getImage().getScaledInstance(80, 125, Image.SCALE_SMOOTH)));
+                        .setIcon(SpriteCache.character(1, SpriteCache.CHAR_W, SpriteCache.CHAR_H));
                 userNameText[i].setBounds(254, 685, 135, 20);
                 userNameText[i].setText("Username2");
                 userObjectLabel[i].setBounds(334, 705, 20, 30);
                 userObjectLabel[i]
-                        .setIcon(new ImageIcon(character2.getImage().getScaledInstance(20, 30, Image.SCALE_SMOOTH)));
+                        .setIcon(SpriteCache.character(1, SpriteCache.ICON_W, SpriteCache.ICON_H));
                 userObjectCntLabel[i].setBounds(359, 710, 20, 25);
                 userObjectCntLabel[i].setFont(new Font("bold", Font.PLAIN, 30));
             } else if (i == 2) {
                 userPanel[i].setBounds(458, 680, 135, 169);
                 userImageLabel[i].setBounds(462, 720, 80, 125);
                 userImageLabel[i]
-                        .setIcon(new ImageIcon(character3.getImage().getScaledInstance(80, 125, Image.SCALE_SMOOTH)));
+                        .setIcon(SpriteCache.character(2, SpriteCache.CHAR_W, SpriteCache.CHAR_H));
                 userNameText[i].setBounds(464, 685, 135, 20);
                 userNameText[i].setText("Username3");
                 userObjectLabel[i].setBounds(549, 705, 20, 30);
                 userObjectLabel[i]
-                        .setIcon(new ImageIcon(character3.getImage().getScaledInstance(20, 30, Image.SCALE_SMOOTH)));
+                        .setIcon(SpriteCache.character(2, SpriteCache.ICON_W, SpriteCache.ICON_H));
                 userObjectCntLabel[i].setBounds(574, 710, 20, 25);
                 userObjectCntLabel[i].setFont(new Font("bold", Font.PLAIN, 30));
             } else {
                 userPanel[i].setBounds(669, 680, 135, 169);
                 userImageLabel[i].setBounds(674, 720, 80, 125);
                 userImageLabel[i]
-                        .setIcon(new ImageIcon(character4.getImage().getScaledInstance(80, 125, Image.SCALE_SMOOTH)));
+                        .setIcon(SpriteCache.character(3, SpriteCache.CHAR_W, SpriteCache.CHAR_H));
                 userNameText[i].setBounds(676, 685, 135, 20);
                 userNameText[i].setText("Username4");
                 userObjectLabel[i].setBounds(760, 705, 20, 30);
                 userObjectLabel[i]
-                        .setIcon(new ImageIcon(character4.getImage().getScaledInstance(20, 30, Image.SCALE_SMOOTH)));
+                        .setIcon(SpriteCache.character(3, SpriteCache.ICON_W, SpriteCache.ICON_H));
                 userObjectCntLabel[i].setBounds(785, 710, 20, 25);
                 userObjectCntLabel[i].setFont(new Font("bold", Font.PLAIN, 30));
             }
@@ -335,8 +336,7 @@ public class YutGameClientView extends JFrame {
             contentPane.add(yutObjectLabel[i]);
         }
 
-        ImageIcon test = new ImageIcon(
-                imgGameBigSpot.getImage().getScaledInstance(300, 200, Image.SCALE_SMOOTH));
+        ImageIcon test = SpriteCache.icon("ic_game_bic_spot.png", 300, 200);
         yutResultBgLabel.setBounds(880, 100, 300, 200);
         yutResultBgLabel.setIcon(test);
         yutResultBgLabel.setVisible(false);
@@ -422,7 +422,7 @@ public class YutGameClientView extends JFrame {
 
         JPanel yutPanel = new JPanel() {
             public void paintComponent(Graphics g) {
-                g.drawImage(yutBackground, 0, 0, null);
+                g.drawImage(yutBackground.getImage(), 0, 0, null);
                 setOpaque(false);
                 super.paintComponent(g);
             }
@@ -465,7 +465,7 @@ public class YutGameClientView extends JFrame {
 
             @Override
             public void mouseClicked(MouseEvent e) { // 마우스로 클릭했을 때
-                System.out.println(userIdx + " Owner: " + Owner);
+                LOG.debug("click owner {} {}", userIdx, Owner);
                 if (Owner) {
                     // gamestart
                     ChatMsg obcm = new ChatMsg(UserName, "104", userIdx + " IGameStart"); // 로그인
@@ -539,6 +539,29 @@ public class YutGameClientView extends JFrame {
         btnRollYut.setVisible(false);
         contentPane.add(btnRollYut);
 
+        // 말 label 은 다른 component 를 다 넣은 뒤 위쪽(z 2)에 만들어 둔다. 판에 없는 말은 숨긴다
+        MyMouseAdapter pieceMouse = new MyMouseAdapter();
+        for (int slot = 0; slot < pieceLabels.length; slot++) {
+            JLabel objectLabel = new JLabel();
+            objectLabel.setIcon(SpriteCache.character(slot / 4, SpriteCache.PIECE_W, SpriteCache.PIECE_H));
+            objectLabel.setSize(SpriteCache.PIECE_W, SpriteCache.PIECE_H);
+            objectLabel.addMouseListener(pieceMouse);
+            objectLabel.setName("object " + slot / 4 + " " + slot % 4);
+            objectLabel.setVisible(false);
+            if (!canvasBoard) {
+                contentPane.add(objectLabel);
+                contentPane.setComponentZOrder(objectLabel, 2);
+            }
+            pieceLabels[slot] = objectLabel;
+        }
+        if (canvasBoard) {
+            BoardCanvas boardCanvas = new BoardCanvas(spotPos, gameSpot.length, arrowLabel, pieceLabels,
+                    mainBackground, background, panel.getLocation(), gameSmallSpot, gameBigSpot, img_arrow,
+                    pieceMouse);
+            boardCanvas.setBounds(0, 0, 828, 680); // 오른쪽 윷 영역, 아래 사용자 영역과 겹치지 않는다
+            contentPane.add(boardCanvas);
+        }
+
         // 자동진행 + rollback
         /*
          * JCheckBox autoPlayCheck = new JCheckBox("Auto Play");
@@ -551,9 +574,15 @@ public class YutGameClientView extends JFrame {
         try {
             socket = new Socket(ip_addr, Integer.parseInt(port_no));
 
-            oos = new ObjectOutputStream(socket.getOutputStream());
-            oos.flush();
-            ois = new ObjectInputStream(socket.getInputStream());
+            if (binaryWire) {
+                dos = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                dis = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                BinaryFrameCodec.writeHandshake(dos); // 서버가 첫 바이트로 형식을 고른다
+            } else {
+                oos = new ObjectOutputStream(socket.getOutputStream());
+                oos.flush();
+                ois = new ObjectInputStream(socket.getInputStream());
+            }
 
             ChatMsg obcm = new ChatMsg(UserName, "100", "Hello"); // 로그인
             SendChatMsg(obcm);
@@ -581,6 +610,15 @@ public class YutGameClientView extends JFrame {
         // Android와 호환성을 위해 각각의 Field를 따로따로 읽는다.
 
         try {
+            if (binaryWire) {
+                BinaryFrameCodec.Frame frame = BinaryFrameCodec.read(dis);
+                cm.code = frame.code();
+                cm.UserName = frame.userName();
+                cm.data = frame.data();
+                cm.imgbytes = frame.imgbytes();
+                cm.event = frame.event();
+                return cm;
+            }
             obj = ois.readObject();
             cm.code = (String) obj;
             obj = ois.readObject();
@@ -591,30 +629,14 @@ public class YutGameClientView extends JFrame {
                 obj = ois.readObject();
                 cm.imgbytes = (byte[]) obj;
             }
+            cm.event = GameEvent.parseFromServer(cm.code, cm.data); // 게임 메시지는 여기서 한 번만 푼다
         } catch (ClassNotFoundException | IOException e) {
             // TODO Auto-generated catch block
-            AppendText("ReadChatMsg Error");
+            SwingUtilities.invokeLater(() -> AppendText("ReadChatMsg Error"));
             e.printStackTrace();
-            try {
-                oos.close();
-                socket.close();
-                ois.close();
-                socket = null;
-                return null;
-            } catch (IOException e1) {
-                // TODO Auto-generated catch block
-                e1.printStackTrace();
-                try {
-                    oos.close();
-                    socket.close();
-                    ois.close();
-                } catch (IOException e2) {
-                    // TODO Auto-generated catch block
-                    e2.printStackTrace();
-                }
-                socket = null;
-                return null;
-            }
+            CloseSocket();
+            socket = null;
+            return null;
 
             // textArea.append("메세지 송신 에러!!\n");
             // System.exit(0);
@@ -622,337 +644,292 @@ public class YutGameClientView extends JFrame {
         return cm;
     }
 
+    // 소켓과 스트림을 닫는다. 형식에 따라 ois/oos 또는 dis/dos 만 열려 있다.
+    private void CloseSocket() {
+        try {
+            if (oos != null)
+                oos.close();
+            if (ois != null)
+                ois.close();
+            if (dos != null)
+                dos.close();
+            if (dis != null)
+                dis.close();
+            if (socket != null)
+                socket.close();
+        } catch (IOException e) {
+            // TODO Auto-generated catch block
+            e.printStackTrace();
+        }
+    }
+
     // Server Message를 수신해서 화면에 표시
+    // 서버 메시지를 읽기만 한다. 화면은 만지지 않고, 잠들지도 않는다.
+    // 읽은 메시지는 inbox 에 넣고, EDT 가 DrainInbox 에서 모아서 처리한다.
     class ListenNetwork extends Thread {
         public void run() {
             while (true) {
                 ChatMsg cm = ReadChatMsg();
                 if (cm == null) {
-                    System.out.println("cm이 null");
+                    LOG.debug("cm이 null");
                     break;
                 }
                 if (socket == null) {
-                    System.out.println("socket이 null");
+                    LOG.debug("socket이 null");
                     break;
                 }
-                switch (cm.code) {
-                    case "100":
-                        System.out.println(cm.code + " " + cm.UserName + " " + cm.data);
-                        break;
-                    case "101":
-                        userIdx = Integer.parseInt(cm.data);
-                        repaint();
-                        break;
-                    case "102":
-                        for (int i = 0; i < 4; i++) {
-                            userNameText[i].setVisible(false);
-                            userImageLabel[i].setVisible(false);
-                            userObjectLabel[i].setVisible(false);
-                            userObjectCntLabel[i].setVisible(false);
-                            userReadyLabel[i].setVisible(false);
-                            crownLabel[i].setVisible(false);
-                        }
-                        Owner = false;
-
-                        String[] userInfoData = cm.data.split(" ");
-                        for (int i = 0; i < userInfoData.length; i += 4) {
-                            int idx = Integer.parseInt(userInfoData[i]);
-                            String name = userInfoData[i + 1];
-                            boolean isOwner = Boolean.parseBoolean(userInfoData[i + 2]);
-                            boolean isReady = Boolean.parseBoolean(userInfoData[i + 3]);
-                            System.out.println("isOwner: " + isOwner);
-                            userList[idx].setIdx(idx);
-                            userList[idx].setUsername(name);
-                            userNameText[idx].setText(name);
-                            userNameText[idx].setVisible(true);
-                            userImageLabel[idx].setVisible(true);
-                            userObjectLabel[idx].setVisible(true);
-                            userObjectCntLabel[idx].setVisible(true);
-                            userReadyLabel[idx].setVisible(isReady);
-                            crownLabel[idx].setVisible(isOwner);
-                            if (userIdx == idx && isOwner)
-                                Owner = true;
-                        }
-
-                        if (Owner) {
-                            btnGameStart.setIcon(img_gameStart);
-                        } else if (!userReadyList[userIdx]) {
-                            btnGameStart.setIcon(img_gameReady);
-                        } else {
-                            btnGameStart.setIcon(img_gameReadyFinish);
-                        }
-                        repaint();
-                        break;
-                    case "105":
-                        String[] serverGameStartResponse = cm.data.split(" ");
-                        boolean serverGameStartAccept = Boolean.parseBoolean(serverGameStartResponse[0]);
-                        if (serverGameStartAccept) {
-                            AppendText("☆☆☆☆☆ 게임을 시작합니다 ☆☆☆☆☆");
-                            btnGameStart.setVisible(false);
-                            btnRollYut.setVisible(true);
-                            for (int i = 0; i < 4; i++)
-                                userReadyLabel[i].setVisible(false);
-
-                        } else {
-                            if (serverGameStartResponse[1].equals("NoUser"))
-                                AppendText("아직 유저가 아무도 없습니다.");
-                            else
-                                AppendText("모든 유저들이 아직 준비를 하지 않았습니다");
-                        }
-                        break;
-                    case "200": // chat message
-                        String msg;
-                        msg = String.format("[%s] %s", cm.UserName, cm.data);
-                        System.out.println("msg: " + msg);
-                        AppendText(msg);
-                        break;
-                    case "300": // Image 첨부
-                        AppendText("[" + cm.UserName + "]" + " " + cm.data);
-                        // AppendImage(cm.img);
-                        AppendImageBytes(cm.imgbytes);
-                        break;
-                    case "400":
-                        System.out.println(cm.code + " " + cm.UserName + " " + cm.data);
-                        break;
-                    case "500":
-                        isPlaying = true;
-                        System.out.println("500 턴체인지");
-                        rollAvailableCnt = 1;
-                        String[] userTurn = cm.data.split(" ");
-                        System.out.println(userTurn[0] + "이 윷을 던짐");
-                        rollUserName = userTurn[0];
-                        playTurnIdx = Integer.parseInt(userTurn[1]);
-                        AppendText("================================");
-                        AppendText(userTurn[0] + "의 차례입니다!!!!");
-                        if(playTurnIdx == userIdx) {
-                            try {
-                                myTurnLabel.setVisible(true);
-                                yutResultBgLabel.setVisible(true);
-                                sleep(1000);
-                                myTurnLabel.setVisible(false);
-                                yutResultBgLabel.setVisible(false);
-                            }catch(InterruptedException e) {
-                                e.printStackTrace();
-                            }
-                        }
-                        repaint();
-                        break;
-                    case "501":
-                        System.out.println("501 들어옴");
-
-                        //윷이벤트
-                        Random random = new Random();
-                        random.setSeed(System.currentTimeMillis());
-                        int special = random.nextInt(100);
-                        int specialPos = random.nextInt(4);
-
-                        try {
-                            for(int i=0; i<4; i++) {
-                                int[] yutList = new int[4];
-                                // yutList -> 1 = 앞면 / 0 = 뒷면
-                                for (int j = 0; j < 4; j++) {
-                                    int num = random.nextInt(2);
-                                    if (num == 0)
-                                        yutList[j] = 1;
-                                    else
-                                        yutList[j] = 0;
-                                }
-
-                                boolean isHasBack = false;
-                                if (special < 25 && yutList[specialPos] == 0) {
-                                    yutList[specialPos] = -1;
-                                    isHasBack = true;
-                                }
+                inbox.add(cm);
+                if (drainScheduled.compareAndSet(false, true))
+                    SwingUtilities.invokeLater(YutGameClientView.this::DrainInbox);
+            }
+        }
+    }
 
-                                for (int j = 0; j < 4; j++) {
-                                    if (yutList[j] == 1) {
-                                        yutObjectLabel[j].setIcon(img_yutFront);
-                                    } else if (yutList[j] == 0) {
-                                        yutObjectLabel[j].setIcon(img_yutBack);
-                                    } else {
-                                        yutObjectLabel[j].setIcon(img_yutSpecial);
-                                    }
-                                }
-                                sleep(500);
-                            }
-                        } catch (InterruptedException e) {
-                            // TODO Auto-generated catch block
-                            e.printStackTrace();
-                        }
+    // EDT. 그동안 쌓인 메시지를 한 번에 처리하고 마지막에 한 번만 repaint 한다.
+    // 판 전체(BoardSnapshot) 가 오면 그 앞의 504 는 건너뛰고, 남은 말 수(505) 는 마지막 것만 쓴다.
+    private void DrainInbox() {
+        drainScheduled.set(false);
+        List<ChatMsg> batch = new ArrayList<>();
+        ChatMsg next;
+        while ((next = inbox.poll()) != null)
+            batch.add(next);
+        if (batch.isEmpty())
+            return;
+        int lastSnapshot = -1;
+        int lastRest = -1;
+        for (int i = 0; i < batch.size(); i++) {
+            ChatMsg cm = batch.get(i);
+            if (cm.event instanceof BoardSnapshot)
+                lastSnapshot = i;
+            else if (cm.event instanceof RestCounts)
+                lastRest = i;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            ChatMsg cm = batch.get(i);
+            if (i < lastSnapshot && cm.code.equals("504"))
+                continue;
+            if (i < lastRest && cm.event instanceof RestCounts)
+                continue;
+            HandleMessage(cm);
+        }
+        LOG.debug("ui batch {}", batch.size());
+        repaint();
+    }
 
-                        //제대로된 윷
-                        String[] yutRollResult = cm.data.split(" ");
-
-                        for (int i = 0; i < 4; i++) {
-                            int yut = Integer.parseInt(yutRollResult[i]);
-                            if (yut == 1) {
-                                yutObjectLabel[i].setIcon(img_yutFront);
-                            } else if (yut == 0) {
-                                yutObjectLabel[i].setIcon(img_yutBack);
-                            } else {
-                                yutObjectLabel[i].setIcon(img_yutSpecial);
-                            }
-                        }
+    // 서버 메시지 하나. EDT 에서만 부른다. 상태는 바로 바꾸고, 시간이 걸리는 효과는 animations 에 넣는다
+    private void HandleMessage(ChatMsg cm) {
+        switch (cm.code) {
+            case "100":
+                LOG.debug("{} {} {}", cm.code, cm.UserName, cm.data);
+                break;
+            case "101":
+                userIdx = Integer.parseInt(cm.data);
+                break;
+            case "102":
+                for (int i = 0; i < 4; i++) {
+                    userNameText[i].setVisible(false);
+                    userImageLabel[i].setVisible(false);
+                    userObjectLabel[i].setVisible(false);
+                    userObjectCntLabel[i].setVisible(false);
+                    userReadyLabel[i].setVisible(false);
+                    crownLabel[i].setVisible(false);
+                }
+                Owner = false;
+
+                for (UserInfo.Entry user : ((UserInfo) cm.event).users()) {
+                    int idx = user.idx();
+                    String name = user.name();
+                    boolean isOwner = user.owner();
+                    boolean isReady = user.ready();
+                    LOG.debug("isOwner: {}", isOwner);
+                    userList[idx].setIdx(idx);
+                    userList[idx].setUsername(name);
+                    userNameText[idx].setText(name);
+                    userNameText[idx].setVisible(true);
+                    userImageLabel[idx].setVisible(true);
+                    userObjectLabel[idx].setVisible(true);
+                    userObjectCntLabel[idx].setVisible(true);
+                    userReadyLabel[idx].setVisible(isReady);
+                    crownLabel[idx].setVisible(isOwner);
+                    if (userIdx == idx && isOwner)
+                        Owner = true;
+                }
 
-                        try {
-                            sleep(1000);
-                        }catch(InterruptedException e) {
-                            e.printStackTrace();
-                        }
+                if (Owner) {
+                    btnGameStart.setIcon(img_gameStart);
+                } else if (!userReadyList[userIdx]) {
+                    btnGameStart.setIcon(img_gameReady);
+                } else {
+                    btnGameStart.setIcon(img_gameReadyFinish);
+                }
+                break;
+            case "105":
+                String[] serverGameStartResponse = cm.data.split(" ");
+                boolean serverGameStartAccept = Boolean.parseBoolean(serverGameStartResponse[0]);
+                if (serverGameStartAccept) {
+                    AppendText("☆☆☆☆☆ 게임을 시작합니다 ☆☆☆☆☆");
+                    btnGameStart.setVisible(false);
+                    btnRollYut.setVisible(true);
+                    for (int i = 0; i < 4; i++)
+                        userReadyLabel[i].setVisible(false);
 
-                        int yutRollValue = Integer.parseInt(yutRollResult[4]);
-                        if (yutRollValue == -1) {
-                            yutResultTextLabel.setText("빽도");
-                            AppendText(rollUserName + "=>---빽도---");
-                        }else if (yutRollValue == 1) {
-                            yutResultTextLabel.setText("도");
-                            AppendText(rollUserName + "=>◇도◇");
-                        }else if (yutRollValue == 2) {
-                            yutResultTextLabel.setText("개");
-                            AppendText(rollUserName + "=>◇◇개◇◇");
-                        }else if (yutRollValue == 3) {
-                            yutResultTextLabel.setText("걸");
-                            AppendText(rollUserName + "=>◇◇◇걸◇◇◇");
-                        }else if (yutRollValue == 4) {
-                            yutResultTextLabel.setText("윷");
-                            AppendText(rollUserName + "=>◇◇◇◇윷◇◇◇◇");
-                        }else if (yutRollValue == 5) {
-                            yutResultTextLabel.setText("모");
-                            AppendText(rollUserName + "=>◇◇◇◇◇모◇◇◇◇◇");
-                        }
+                } else {
+                    if (serverGameStartResponse[1].equals("NoUser"))
+                        AppendText("아직 유저가 아무도 없습니다.");
+                    else
+                        AppendText("모든 유저들이 아직 준비를 하지 않았습니다");
+                }
+                break;
+            case "200": // chat message
+                String msg;
+                msg = String.format("[%s] %s", cm.UserName, cm.data);
+                LOG.debug("msg: {}", msg);
+                AppendText(msg);
+                break;
+            case "300": // Image 첨부
+                AppendText("[" + cm.UserName + "]" + " " + cm.data);
+                // AppendImage(cm.img);
+                AppendImageBytes(cm.imgbytes);
+                break;
+            case "400":
+                LOG.debug("{} {} {}", cm.code, cm.UserName, cm.data);
+                break;
+            case "500":
+                isPlaying = true;
+                rollAvailableCnt = 1;
+                TurnChange userTurn = (TurnChange) cm.event;
+                LOG.debug("turn {}", userTurn.userName());
+                rollUserName = userTurn.userName();
+                playTurnIdx = userTurn.turnIdx();
+                animations.then(0, () -> {
+                    AppendText("================================");
+                    AppendText(userTurn.userName() + "의 차례입니다!!!!");
+                });
+                if (playTurnIdx == userIdx)
+                    ShowMyTurn();
+                break;
+            case "501":
+                RollResult yutRollResult = (RollResult) cm.event;
+                String rollName = rollUserName;
+                //윷이벤트 (흔드는 모양만 보여 준다)
+                for (int i = 0; i < 4; i++)
+                    animations.then(500, () -> ShowSticks(GameEngine.rollOf(shakeRandom.nextInt()).sticks()));
+                //제대로된 윷
+                animations.then(1000, () -> ShowSticks(yutRollResult.sticks()));
+                animations.then(1500, () -> {
+                    ShowRollValue(rollName, yutRollResult.value());
+                    yutResultBgLabel.setVisible(true);
+                    yutResultTextLabel.setVisible(true);
+                });
+                animations.then(0, () -> {
+                    yutResultBgLabel.setVisible(false);
+                    yutResultTextLabel.setVisible(false);
+                });
+                break;
+            case "502":
+                rollAvailableCnt += 1;
+                ShowMyTurn();
+                break;
+            case "503":
+
+                byte[] rollResult = ((PendingRolls) cm.event).rolls();
+                userMoveYutCase = new int[rollResult.length];
+                for (int i = 0; i < userMoveYutCase.length; i++) {
+                    userMoveYutCase[i] = rollResult[i];
+                }
+                break;
+            case "504":
+                if (cm.event instanceof BoardDelta delta) { // 바뀐 말만 옮긴다
+                    PlayMove(delta);
+                } else { // 입장, 게임 시작 때 판 전체
+                    FinishMove();
+                    byte[] positions = ((BoardSnapshot) cm.event).positions();
+                    for (int i = 0; i < positions.length; i++)
+                        SetPiece(i, positions[i]);
+                }
+                break;
+            case "505":
+                byte[] restObjectCntData = ((RestCounts) cm.event).counts();
+                for (int i = 0; i < restObjectCntData.length; i++) {
+                    userObjectCnt[i] = restObjectCntData[i];
+                    userObjectCntLabel[i].setText(Integer.toString(userObjectCnt[i]));
+                }
+                break;
+            case "507":
+                LOG.debug("507 data: {}", cm.data);
+                animations.then(0, () -> { // 보여 주던 윷 결과가 끝난 뒤
+                    if(cm.data.equals("win")) {
+                        winLabel.setText("승리!!");
+                    }else {
+                        winLabel.setText("패배..");
+                    }
+                    yutResultBgLabel.setVisible(true);
+                    winLabel.setVisible(true);
+                });
+                break;
+            case "999":
+                AppendText("ListenNetwork 방이 가득 찼습니다.");
 
-                        try {
-                            yutResultBgLabel.setVisible(true);
-                            yutResultTextLabel.setVisible(true);
-                            int time = 0;
-                            while(time<3) {
-                                time+=1;
-                                sleep(500);
-                            }
-                            yutResultBgLabel.setVisible(false);
-                            yutResultTextLabel.setVisible(false);
-                        }catch (InterruptedException e) {
-                            // TODO: handle exception
-                            e.printStackTrace();
-                        }
+                break;
 
-                        repaint();
-                        break;
-                    case "502":
-                        System.out.println("502 들어옴");
-                        try {
-                            myTurnLabel.setVisible(true);
-                            yutResultBgLabel.setVisible(true);
-                            sleep(1000);
-                            myTurnLabel.setVisible(false);
-                            yutResultBgLabel.setVisible(false);
-                        }catch(InterruptedException e) {
-                            e.printStackTrace();
-                        }
-                        rollAvailableCnt += 1;
-                        break;
-                    case "503":
-                        System.out.println("503 들어옴");
-                        System.out.println("캐릭터 선택하면 됨");
-
-                        String[] rollResult = cm.data.split(" ");
-                        userMoveYutCase = new int[rollResult.length];
-                        for (int i = 0; i < userMoveYutCase.length; i++) {
-                            userMoveYutCase[i] = Integer.parseInt(rollResult[i]);
-                        }
-                        break;
-                    case "504":
-                        System.out.println("504 들어옴 data: " + cm.data);
-                        for (int i = 0; i < gameObjectList.size(); i++)
-                            contentPane.remove(gameObjectList.get(i));
-
-                        gameObjectList.clear();
-
-                        System.out.println("504들어옴 " + cm.data);
-                        String[] moveResult = cm.data.split(" ");
-                        for (int i = 0; i < moveResult.length; i++)
-                            System.out.println(moveResult[i]);
-                        System.out.println("moveResult 출력 끝");
-
-                        gameObjectList.clear();
-                        int index = 0;
-                        int userMoveIdx = 0;
-                        while (index < moveResult.length) {
-                            if (moveResult[index].equals("user")) {
-                                userMoveIdx = Integer.parseInt(moveResult[index + 1]);
-                            } else {
-                                int objectIdx = Integer.parseInt(moveResult[index]);
-                                int pos = Integer.parseInt(moveResult[index + 1]);
-                                JLabel objectLabel = new JLabel();
-                                if (userMoveIdx == 0)
-                                    objectLabel.setIcon(new ImageIcon(
-                                            character1.getImage().getScaledInstance(35, 50, Image.SCALE_SMOOTH)));
-                                else if (userMoveIdx == 1)
-                                    objectLabel.setIcon(new ImageIcon(
-                                            character2.getImage().getScaledInstance(35, 50, Image.SCALE_SMOOTH)));
-                                else if (userMoveIdx == 2)
-                                    objectLabel.setIcon(new ImageIcon(
-                                            character3.getImage().getScaledInstance(35, 50, Image.SCALE_SMOOTH)));
-                                else if (userMoveIdx == 3)
-                                    objectLabel.setIcon(new ImageIcon(
-                                            character4.getImage().getScaledInstance(35, 50, Image.SCALE_SMOOTH)));
-                                objectLabel.addMouseListener(new MyMouseAdapter());
-                                objectLabel.setName("object " + userMoveIdx + " " + objectIdx);
-                                if (userIdx == userMoveIdx)
-                                    userObjectPos[objectIdx] = pos;
-                                if (spotPos[pos][4] == 1)
-                                    objectLabel.setBounds(spotPos[pos][0] + 21, spotPos[pos][1] + 12, 35, 50);
-                                else
-                                    objectLabel.setBounds(spotPos[pos][0] + 12, spotPos[pos][1], 35, 50);
-                                contentPane.add(objectLabel);
-                                contentPane.setComponentZOrder(objectLabel, 2);
-                                gameObjectList.add(objectLabel);
-                            }
-                            index += 2;
-                        }
-                        repaint();
-                        break;
-                    case "505":
-                        System.out.println("505 들어옴 data: " + cm.data);
-                        String[] restObjectCntData = cm.data.split(" ");
-                        for (int i = 0; i < restObjectCntData.length; i++) {
-                            userObjectCnt[i] = Integer.parseInt(restObjectCntData[i]);
-                            userObjectCntLabel[i].setText(Integer.toString(userObjectCnt[i]));
-                            repaint();
-                        }
-                        break;
-                    case "507":
-                        System.out.println("507 data: " + cm.data);
-                        if(cm.data.equals("win")) {
-                            winLabel.setText("승리!!");
-                        }else {
-                            winLabel.setText("패배..");
-                        }
-                        yutResultBgLabel.setVisible(true);
-                        winLabel.setVisible(true);
-                        repaint();
-                        break;
-                    case "999":
-                        AppendText("ListenNetwork 방이 가득 찼습니다.");
+        }
+    }
 
-                        break;
+    // "윷을 굴려주세요" 를 1초 보여 준다
+    private void ShowMyTurn() {
+        animations.then(1000, () -> {
+            myTurnLabel.setVisible(true);
+            yutResultBgLabel.setVisible(true);
+        });
+        animations.then(0, () -> {
+            myTurnLabel.setVisible(false);
+            yutResultBgLabel.setVisible(false);
+        });
+    }
 
-                }
+    private void ShowSticks(byte[] yutList) {
+        for (int j = 0; j < 4; j++) {
+            if (yutList[j] == 1) {
+                yutObjectLabel[j].setIcon(img_yutFront);
+            } else if (yutList[j] == 0) {
+                yutObjectLabel[j].setIcon(img_yutBack);
+            } else {
+                yutObjectLabel[j].setIcon(img_yutSpecial);
             }
         }
     }
 
+    private void ShowRollValue(String rollName, int yutRollValue) {
+        if (yutRollValue == -1) {
+            yutResultTextLabel.setText("빽도");
+            AppendText(rollName + "=>---빽도---");
+        }else if (yutRollValue == 1) {
+            yutResultTextLabel.setText("도");
+            AppendText(rollName + "=>◇도◇");
+        }else if (yutRollValue == 2) {
+            yutResultTextLabel.setText("개");
+            AppendText(rollName + "=>◇◇개◇◇");
+        }else if (yutRollValue == 3) {
+            yutResultTextLabel.setText("걸");
+            AppendText(rollName + "=>◇◇◇걸◇◇◇");
+        }else if (yutRollValue == 4) {
+            yutResultTextLabel.setText("윷");
+            AppendText(rollName + "=>◇◇◇◇윷◇◇◇◇");
+        }else if (yutRollValue == 5) {
+            yutResultTextLabel.setText("모");
+            AppendText(rollName + "=>◇◇◇◇◇모◇◇◇◇◇");
+        }
+    }
+
     class MyMouseAdapter extends MouseAdapter {
         @Override
         public void mouseClicked(MouseEvent e) { // 마우스로 클릭했을 때
             if (isPlaying) {
-                System.out.println(((JLabel) e.getSource()).getName());
-                System.out.println("playTurnIdx: " + playTurnIdx + " userIdx: " + userIdx);
+                LOG.debug("click {} playTurnIdx {} userIdx {}", ((JLabel) e.getSource()).getName(), playTurnIdx, userIdx);
                 if (userIdx == playTurnIdx) {
                     if (rollAvailableCnt != 0) {
                         AppendText("먼저 윷을 굴려주세요!");
                     } else {
-                        System.out.println("선택가능");
 //                  ChatMsg obcm = new ChatMsg(UserName, "504", "finish");
 //                  SendChatMsg(obcm);
                         JLabel clickLabel = (JLabel) e.getSource();
@@ -965,70 +942,61 @@ public class YutGameClientView extends JFrame {
                                 AppendText("더이상 말을 추가할 수 없습니다.");
                             else {
                                 tempArrowList.clear();
+                                tempArrowRollIdx.clear();
                                 for (int i = 0; i < userMoveYutCase.length; i++) {
-                                    if(userMoveYutCase[i] - 1 == -1 && userObjectCnt[playTurnIdx] == 4) continue;
-                                    tempArrowList.add(arrowLabel[userMoveYutCase[i] - 1]);
-                                    arrowLabel[userMoveYutCase[i] - 1].setVisible(true);
+                                    int arrowIdx = YutBoard.next(YutBoard.HOME, userMoveYutCase[i]);
+                                    if (arrowIdx == YutBoard.HOME) continue; // 새 말은 빽도로 갈 곳이 없다
+                                    tempArrowList.add(arrowLabel[arrowIdx]);
+                                    tempArrowRollIdx.add(i);
+                                    arrowLabel[arrowIdx].setVisible(true);
                                 }
                                 repaint();
                             }
                         } else if (labelName.contains("object")) {
-                            System.out.println("오브젝트 클릭");
                             clickObjectLabel = clickLabel;
                             userClickObjectName = "object";
                             String[] labelSplit = labelName.split(" ");
 
                             tempArrowList.clear();
+                            tempArrowRollIdx.clear();
                             if (Integer.parseInt(labelSplit[1]) == userIdx) {
                                 int objectPos = userObjectPos[Integer.parseInt(labelSplit[2])];
                                 for (int i = 0; i < userMoveYutCase.length; i++) {
-                                    int arrowIdx = 0;
-                                    if (userMoveYutCase[i] == -1){
-                                        if (objectPos == 0)
-                                            arrowIdx = 19;
-                                        else if (objectPos == 25)
-                                            arrowIdx = 4;
-                                        else if (objectPos == 20)
-                                            arrowIdx = 9;
-                                        else
-                                            arrowIdx = objectPos - 1;
-                                    } else { // 도착 시 처리 19 처리해야함
-                                        int moveDist = userMoveYutCase[i] - 1;
-                                        arrowIdx= getArrowIdx(objectPos, moveDist);
-                                    }
+                                    int arrowIdx = YutBoard.next(objectPos, userMoveYutCase[i]); // 빽도(-1) 포함
                                     arrowLabel[arrowIdx].setVisible(true);
                                     tempArrowList.add(arrowLabel[arrowIdx]);
+                                    tempArrowRollIdx.add(i);
                                 }
                                 repaint();
                             }
 
                         } else if (labelName.contains("arrow")) {
-                            System.out.println("arrow 클릭");
-                            System.out.println("ClickLabelObjectName: " + clickObjectLabel.getName());
+                            LOG.debug("arrow click, selected {}", clickObjectLabel.getName());
                             int useYutCaseIdx = 0;
                             for(int j=0; j<tempArrowList.size(); j++) {
                                 if(tempArrowList.get(j).getName().equals(labelName)){
-                                    useYutCaseIdx = j;
+                                    useYutCaseIdx = tempArrowRollIdx.get(j);
                                     break;
                                 }
                             }
 
                             String[] labelSplit = labelName.split(" ");
                             int arrowPos = Integer.parseInt(labelSplit[1]);
-                            String arrowMsg = "";
+                            MoveRequest arrowMsg = null;
                             if (userClickObjectName.equals("new Object")) {
-                                System.out.println("새로운 오브젝트");
-                                arrowMsg = "new object " + arrowPos + " " + useYutCaseIdx;
+                                arrowMsg = new MoveRequest(-1, -1, arrowPos, useYutCaseIdx);
                             } else if (userClickObjectName.equals("object")) {
-                                System.out.println("clickLabelName: " + clickObjectLabel.getName());
-                                arrowMsg = "move " + clickObjectLabel.getName() + " " + arrowPos + " " + useYutCaseIdx;
+                                String[] objectSplit = clickObjectLabel.getName().split(" "); // object userIdx objectIdx
+                                arrowMsg = new MoveRequest(Integer.parseInt(objectSplit[1]),
+                                        Integer.parseInt(objectSplit[2]), arrowPos, useYutCaseIdx);
                             }
-                            System.out.println(arrowMsg);
+                            LOG.debug("send {}", arrowMsg);
                             ChatMsg obcm = new ChatMsg(UserName, "504", arrowMsg);
                             SendChatMsg(obcm);
                             for (int i = 0; i < arrowLabel.length; i++)
                                 arrowLabel[i].setVisible(false);
                             tempArrowList.clear();
+                            tempArrowRollIdx.clear();
                             userMoveYutCase = null;
                             repaint();
                         }
@@ -1039,33 +1007,72 @@ public class YutGameClientView extends JFrame {
         }
     };
 
-    public int getArrowIdx(int objectPos, int moveDist) {
-        int arrowIdx = 0;
-        if (objectPos == 4) {
-            if (moveDist == 2) arrowIdx = 22;
-            else if(moveDist == 0 || moveDist == 1) arrowIdx = 25 + moveDist;
-            else arrowIdx = 25 + moveDist - 1;
-        } else if (objectPos == 9) {
-            arrowIdx = 20 + moveDist;
-        } else if (objectPos >= 15 && objectPos <= 19) {
-            if (objectPos + moveDist + 1 > 19)
-                arrowIdx = 29; // 도착 시 처리
-            else arrowIdx = objectPos + moveDist + 1;
-        } else if (objectPos >= 20 && objectPos <= 24) {
-            if (objectPos + moveDist + 1 > 24) arrowIdx = 29;  // 도착 시 처리
-            else arrowIdx = objectPos + moveDist + 1;
-        } else if (objectPos >= 25 && objectPos <= 26) {
-            if(moveDist == 1 && objectPos == 25) arrowIdx = 22;
-            else if(moveDist == 0 && objectPos == 26) arrowIdx = 22;
-            else if(moveDist + objectPos <= 28) arrowIdx = moveDist + objectPos;
-            else arrowIdx = 14 + (29 - moveDist - objectPos);
-        }else if(objectPos >= 27 && objectPos <= 28) {
-            if(objectPos == 27 && moveDist == 0) arrowIdx = 28;
-            else arrowIdx = 14 + 28 - objectPos - moveDist;
-        }else {
-            arrowIdx = objectPos + moveDist + 1;
+    // 말을 옮긴 delta 면 지나간 칸을 MOVE_STEP_MS 마다 하나씩 보여 준 뒤 delta 를 적용한다.
+    // 내 말 위치(userObjectPos)는 바로 도착 칸으로 바꿔서 보여 주는 중에도 다음 이동을 고를 수 있다.
+    private void PlayMove(BoardDelta delta) {
+        FinishMove();
+        if (delta.path().length == 0) {
+            ApplyDelta(delta);
+            return;
+        }
+        for (int i = 0; i < delta.count(); i++)
+            SetMyPosition(delta.slot(i), delta.to(i));
+        movingDelta = delta;
+        movingStep = 0;
+        ShowPieceAt(delta.moveSlot(), delta.path()[movingStep++]);
+        moveTimer = new Timer(MOVE_STEP_MS, e -> {
+            if (movingStep < movingDelta.path().length)
+                ShowPieceAt(movingDelta.moveSlot(), movingDelta.path()[movingStep++]);
+            else
+                FinishMove();
+        });
+        moveTimer.start();
+    }
+
+    // 보여 주던 이동이 남아 있으면 바로 끝낸다
+    private void FinishMove() {
+        if (moveTimer != null) {
+            moveTimer.stop();
+            moveTimer = null;
+        }
+        if (movingDelta != null) {
+            BoardDelta delta = movingDelta;
+            movingDelta = null;
+            ApplyDelta(delta);
+        }
+    }
+
+    private void ApplyDelta(BoardDelta delta) {
+        for (int i = 0; i < delta.count(); i++)
+            SetPiece(delta.slot(i), delta.to(i));
+    }
+
+    private void SetMyPosition(int slot, int pos) {
+        if (userIdx == slot / 4)
+            userObjectPos[slot % 4] = pos;
+    }
+
+    // slot(userIdx * 4 + 말 번호) 의 말을 pos 칸으로 옮긴다. pos 가 -1 이면 판에서 뺀다
+    private void SetPiece(int slot, int pos) {
+        SetMyPosition(slot, pos);
+        ShowPieceAt(slot, pos);
+    }
+
+    // 말 label 만 옮긴다. 옮기기 전과 뒤의 자리만 다시 그린다
+    private void ShowPieceAt(int slot, int pos) {
+        JLabel objectLabel = pieceLabels[slot];
+        if (objectLabel.isVisible())
+            contentPane.repaint(objectLabel.getBounds());
+        if (pos == -1) {
+            objectLabel.setVisible(false);
+            return;
         }
-        return arrowIdx;
+        if (spotPos[pos][4] == 1)
+            objectLabel.setLocation(spotPos[pos][0] + 21, spotPos[pos][1] + 12);
+        else
+            objectLabel.setLocation(spotPos[pos][0] + 12, spotPos[pos][1]);
+        objectLabel.setVisible(true);
+        contentPane.repaint(objectLabel.getBounds());
     }
 
     // keyboard enter key 치면 서버로 전송
@@ -1221,9 +1228,14 @@ public class YutGameClientView extends JFrame {
     // Android와 호환성을 위해 code, UserName, data 모드 각각 전송한다.
     public void SendChatMsg(ChatMsg obj) {
         try {
+            if (binaryWire) {
+                BinaryFrameCodec.write(dos, obj.code, obj.UserName, obj.data, obj.imgbytes, obj.event);
+                dos.flush();
+                return;
+            }
             oos.writeObject(obj.code);
             oos.writeObject(obj.UserName);
-            oos.writeObject(obj.data);
+            oos.writeObject(obj.legacyData());
             if (obj.code.equals("300")) { // 이미지 첨부 있는 경우
                 oos.writeObject(obj.imgbytes);
             }
@@ -1231,14 +1243,7 @@ public class YutGameClientView extends JFrame {
         } catch (IOException e) {
             AppendText("SendChatMsg Error");
             e.printStackTrace();
-            try {
-                oos.close();
-                socket.close();
-                ois.close();
-            } catch (IOException e1) {
-                // TODO Auto-generated catch block
-                e1.printStackTrace();
-            }
+            CloseSocket();
 
             // textArea.append("메세지 송신 에러!!\n");
             // System.exit(0);
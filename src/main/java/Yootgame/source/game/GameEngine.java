@@ -0,0 +1,338 @@
+package Yootgame.source.game;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+// GameEngine.java 윷놀이 규칙과 판 상태. 소켓, 화면(Swing) 과 관계없이 돌아간다.
+// 서버(UserService)는 메시지를 받아 이 클래스의 메소드를 부르고 결과를 클라이언트들에게 보내기만 한다.
+//
+// 자리(seat) = userIdx, 말 번호 0 ~ 3.
+// 판 위에 없는 말(대기, 업힘, 도착)의 칸은 -1 이다. 업힌 말은 업은 말 번호를 carrier 에 가진다.
+public class GameEngine {
+    public static final int MAX_PLAYER = 4;
+    public static final int PIECE_CNT = 4;
+    public static final int GOAL = YutBoard.GOAL; // 도착 칸
+
+    // 말을 놓을 칸. piece 가 -1 이면 새 말을 올린다. rollIdx 는 pendingRolls 중 몇 번째 윷 결과를 쓰는지
+    public record Move(int piece, int rollIdx, int target) {
+        public boolean isNewPiece() {
+            return piece == -1;
+        }
+    }
+
+    // 윷 4개 (1 = 앞면, 0 = 뒷면, -1 = 빽도 표시된 윷) 와 결과 값 (-1, 1 ~ 5)
+    public record Roll(byte[] sticks, int value) {
+        // 윷, 모는 한 번 더 던진다
+        public boolean isAgain() {
+            return value == 4 || value == 5;
+        }
+    }
+
+    // apply() 의 결과. path 는 도착 칸 전까지 지나간 칸들
+    public record MoveResult(int piece, byte[] path, boolean arrived, boolean captured, boolean turnChanged) {
+    }
+
+    private final int playerCnt;
+    private final int[][] pos = new int[MAX_PLAYER][PIECE_CNT];
+    private final int[][] carrier = new int[MAX_PLAYER][PIECE_CNT];
+    private final int[] rest = new int[MAX_PLAYER];
+    private final boolean[] giveUp = new boolean[MAX_PLAYER];
+    private int turnCount = 0; // 지금까지 넘어간 턴 수. 차례인 자리는 turnCount % playerCnt
+    private int[] pendingRolls = new int[8]; // 아직 쓰지 않은 윷 결과, 오름차순
+    private int pendingCnt = 0;
+
+    public GameEngine(int playerCnt) {
+        this.playerCnt = playerCnt;
+        for (int seat = 0; seat < MAX_PLAYER; seat++) {
+            Arrays.fill(pos[seat], -1);
+            Arrays.fill(carrier[seat], -1);
+            rest[seat] = PIECE_CNT;
+        }
+    }
+
+    public int getPlayerCnt() {
+        return playerCnt;
+    }
+
+    public int getTurnCount() {
+        return turnCount;
+    }
+
+    // 지금 차례인 자리
+    public int currentSeat() {
+        return turnCount % playerCnt;
+    }
+
+    public int getPos(int seat, int piece) {
+        return pos[seat][piece];
+    }
+
+    public int getRest(int seat) {
+        return rest[seat];
+    }
+
+    public boolean isGiveUp(int seat) {
+        return giveUp[seat];
+    }
+
+    // 도착한 말 수. 4 가 되면 그 자리가 이긴다
+    public int arrivedCount(int seat) {
+        int offBoard = 0; // 판에 없고 업히지도 않은 말 = 대기 중 + 도착
+        for (int piece = 0; piece < PIECE_CNT; piece++) {
+            if (pos[seat][piece] == -1 && carrier[seat][piece] == -1)
+                offBoard += 1;
+        }
+        return offBoard - rest[seat];
+    }
+
+    // [seat * 4 + 말 번호] = 칸 번호
+    public byte[] board() {
+        byte[] board = new byte[MAX_PLAYER * PIECE_CNT];
+        for (int seat = 0; seat < MAX_PLAYER; seat++) {
+            for (int piece = 0; piece < PIECE_CNT; piece++)
+                board[seat * PIECE_CNT + piece] = (byte) pos[seat][piece];
+        }
+        return board;
+    }
+
+    public byte[] restCounts() {
+        byte[] counts = new byte[MAX_PLAYER];
+        for (int seat = 0; seat < MAX_PLAYER; seat++)
+            counts[seat] = (byte) rest[seat];
+        return counts;
+    }
+
+    public byte[] pendingRolls() {
+        byte[] rolls = new byte[pendingCnt];
+        for (int i = 0; i < pendingCnt; i++)
+            rolls[i] = (byte) pendingRolls[i];
+        return rolls;
+    }
+
+    public int getPendingCnt() {
+        return pendingCnt;
+    }
+
+    // 윷을 던져 결과를 pendingRolls 에 넣는다. random 에서 int 하나만 뽑는다
+    public Roll roll(RandomGenerator random) {
+        Roll roll = rollOf(random.nextInt());
+        addPendingRoll(roll.value());
+        return roll;
+    }
+
+    // 32 비트 중 아래 8 비트로 윷 4개를 정한다. 같은 word 면 항상 같은 결과
+    //   bit 0 ~ 3 : 윷 4개 (0 = 앞면)
+    //   bit 4 ~ 5 : 빽도 윷 자리
+    //   bit 6 ~ 7 : 둘 다 0 이면(1/4) 그 자리의 뒷면 윷이 빽도 표시
+    public static Roll rollOf(int word) {
+        int specialPos = (word >>> 4) & 3;
+        boolean special = ((word >>> 6) & 3) == 0;
+
+        byte[] yutList = new byte[4];
+        // yutList -> 1 = 앞면 / 0 = 뒷면
+        for (int i = 0; i < 4; i++)
+            yutList[i] = (byte) (((word >>> i) & 1) == 0 ? 1 : 0);
+
+        boolean isHasBack = false;
+        if (special && yutList[specialPos] == 0) {
+            yutList[specialPos] = -1;
+            isHasBack = true;
+        }
+
+        int yutCnt = 0; // 앞면이 아닌 윷 개수
+        for (int i = 0; i < 4; i++) {
+            if (yutList[i] != 1)
+                yutCnt += 1;
+        }
+
+        int value;
+        if (yutCnt == 0)
+            value = 5; // 모
+        else if (yutCnt == 1 && isHasBack)
+            value = -1; // 빽도
+        else
+            value = yutCnt;
+        return new Roll(yutList, value);
+    }
+
+    // 지금 차례인 자리가 둘 수 있는 수. 클라이언트가 화살표를 보여 주는 규칙과 같다
+    public List<Move> legalMoves() {
+        int seat = currentSeat();
+        List<Move> moves = new ArrayList<>();
+        for (int r = 0; r < pendingCnt; r++) {
+            int value = pendingRolls[r];
+            if (rest[seat] > 0 && value != YutBoard.BACKDO)
+                moves.add(new Move(-1, r, YutBoard.next(YutBoard.HOME, value)));
+            for (int piece = 0; piece < PIECE_CNT; piece++) {
+                int from = pos[seat][piece];
+                if (from == -1)
+                    continue;
+                moves.add(new Move(piece, r, YutBoard.next(from, value)));
+            }
+        }
+        return moves;
+    }
+
+    // seat 가 지금 차례이고 move 가 legalMoves() 중 하나인지. 목록을 만들지 않고 같은 규칙으로 본다
+    public boolean isLegal(int seat, Move move) {
+        if (seat != currentSeat() || move.rollIdx() < 0 || move.rollIdx() >= pendingCnt)
+            return false;
+        int value = pendingRolls[move.rollIdx()];
+        if (move.isNewPiece())
+            return rest[seat] > 0 && value != YutBoard.BACKDO && move.target() == YutBoard.next(YutBoard.HOME, value);
+        if (move.piece() < 0 || move.piece() >= PIECE_CNT || pos[seat][move.piece()] == -1)
+            return false;
+        return move.target() == YutBoard.next(pos[seat][move.piece()], value);
+    }
+
+    // seat 의 말을 move 대로 옮긴다. 말을 잡으면 한 번 더 던지고, 남은 윷 결과가 없으면 턴이 넘어간다
+    // 둘 수 없는 수면 상태를 바꾸기 전에 IllegalArgumentException. 도착 칸은 윷 결과로 다시 계산한다
+    public MoveResult apply(int seat, Move move) {
+        if (!isLegal(seat, move))
+            throw new IllegalArgumentException("illegal move " + move + " for seat " + seat);
+        int[] myPos = pos[seat];
+        int[] myCarrier = carrier[seat];
+        int from = move.isNewPiece() ? YutBoard.HOME : myPos[move.piece()];
+        int target = YutBoard.next(from, pendingRolls[move.rollIdx()]);
+        int moveDist = removePendingRoll(move.rollIdx());
+
+        int piece = move.piece();
+        if (move.isNewPiece()) {
+            rest[seat] -= 1;
+            for (int i = 0; i < PIECE_CNT; i++) {
+                if (myPos[i] == -1 && myCarrier[i] == -1) {
+                    piece = i;
+                    break;
+                }
+            }
+        }
+
+        byte[] path = YutBoard.path(myPos[piece], moveDist); // 새 말은 myPos 가 -1 (HOME)
+
+        if (target == GOAL && !move.isNewPiece()) {
+            // 업힌 말도 같이 들어온다
+            myPos[piece] = -1;
+            for (int i = 0; i < PIECE_CNT; i++) {
+                if (myCarrier[i] == piece) {
+                    myCarrier[i] = -1;
+                    myPos[i] = -1;
+                }
+            }
+            pendingCnt = 0;
+            nextTurn();
+            return new MoveResult(piece, path, true, false, true);
+        }
+
+        int overlapIdx = -1;
+        for (int i = 0; i < PIECE_CNT; i++) {
+            if (i != piece && myPos[i] == target) {
+                overlapIdx = i;
+                break;
+            }
+        }
+
+        if (overlapIdx != -1) { // 내 말 위에 업힌다
+            myPos[piece] = -1;
+            myCarrier[piece] = overlapIdx;
+            for (int i = 0; i < PIECE_CNT; i++) { // 이 말이 업고 있던 말도 같이 옮겨 업힌다
+                if (myCarrier[i] == piece)
+                    myCarrier[i] = overlapIdx;
+            }
+        } else {
+            myPos[piece] = target;
+        }
+
+        boolean captured = false;
+        if (overlapIdx == -1) {
+            for (int other = 0; other < MAX_PLAYER; other++) {
+                if (other == seat)
+                    continue;
+                for (int j = 0; j < PIECE_CNT; j++) {
+                    if (pos[other][j] == target) {
+                        pos[other][j] = -1;
+                        int addRestCnt = 1;
+                        for (int k = 0; k < PIECE_CNT; k++) {
+                            if (carrier[other][k] == j) {
+                                carrier[other][k] = -1;
+                                addRestCnt += 1;
+                            }
+                        }
+                        rest[other] += addRestCnt;
+                        captured = true;
+                        break;
+                    }
+                }
+            }
+        }
+
+        boolean turnChanged = false;
+        if (!captured && pendingCnt == 0) {
+            nextTurn();
+            turnChanged = true;
+        }
+        return new MoveResult(piece, path, false, captured, turnChanged);
+    }
+
+    // 둘 수 있는 수가 없을 때. 남은 윷 결과를 버리고 턴을 넘긴다
+    public void pass() {
+        nextTurn();
+    }
+
+    // 기권. 말을 모두 내리고 다음 차례부터 건너뛴다. 한 명만 남으면 true
+    // 기권한 자리가 지금 차례였고 게임이 끝나지 않았으면 턴을 넘긴다
+    public boolean giveUp(int seat) {
+        boolean wasTurn = seat == currentSeat();
+        giveUp[seat] = true;
+        rest[seat] = PIECE_CNT;
+        Arrays.fill(pos[seat], -1);
+        Arrays.fill(carrier[seat], -1);
+
+        int giveUpCnt = 0;
+        for (int i = 0; i < playerCnt; i++) {
+            if (giveUp[i])
+                giveUpCnt += 1;
+        }
+        boolean isGameOver = giveUpCnt == playerCnt - 1;
+        if (!isGameOver && wasTurn)
+            nextTurn();
+        return isGameOver;
+    }
+
+    // 기권하지 않은 마지막 자리. 없으면 -1
+    public int winner() {
+        for (int i = 0; i < playerCnt; i++) {
+            if (!giveUp[i])
+                return i;
+        }
+        return -1;
+    }
+
+    private void nextTurn() {
+        pendingCnt = 0;
+        turnCount += 1;
+        // 기권한 플레이어 건너뛰기
+        for (int i = 0; i < playerCnt && giveUp[currentSeat()]; i++)
+            turnCount += 1;
+    }
+
+    private void addPendingRoll(int value) {
+        if (pendingCnt == pendingRolls.length)
+            pendingRolls = Arrays.copyOf(pendingRolls, pendingCnt * 2);
+        int i = pendingCnt;
+        while (i > 0 && pendingRolls[i - 1] > value) { // 정렬 상태 유지
+            pendingRolls[i] = pendingRolls[i - 1];
+            i -= 1;
+        }
+        pendingRolls[i] = value;
+        pendingCnt += 1;
+    }
+
+    private int removePendingRoll(int idx) {
+        int value = pendingRolls[idx];
+        System.arraycopy(pendingRolls, idx + 1, pendingRolls, idx, pendingCnt - idx - 1);
+        pendingCnt -= 1;
+        return value;
+    }
+}
@@ -0,0 +1,183 @@
+package Yootgame.source.game;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// SelfPlay.java 화면, 서버 없이 GameEngine 으로 끝까지 게임을 많이 돌려 본다.
+//   java -cp ... Yootgame.source.game.SelfPlay --games=1000000 --players=2,3,4 --seed=1
+// 서버와 같은 규칙을 쓴다: 윷(rollOf), 윷/모 한 번 더, 잡으면 한 번 더, 업기, 도착하면 턴 넘김.
+// 모든 자리는 둘 수 있는 수 중 하나를 고르게 뽑아 둔다.
+// 게임은 LEAF_GAMES 개씩 나눠 fork/join 으로 돌린다. 나누는 지점이 고정이라 seed 가 같으면 결과도 같다.
+public class SelfPlay {
+    static final int LEAF_GAMES = 4096;
+    static final int MAX_TURNS = 10_000; // 이보다 길면 끝나지 않은 게임으로 센다
+
+    // 게임 묶음 하나의 결과. 합칠 때는 add()
+    static final class Stats {
+        long games;
+        long unfinished;
+        long turns;
+        final long[] wins = new long[GameEngine.MAX_PLAYER];
+        final long[] rolls = new long[YutBoard.MAX_ROLL + 2]; // [윷 결과 + 1]
+
+        void add(Stats other) {
+            games += other.games;
+            unfinished += other.unfinished;
+            turns += other.turns;
+            for (int i = 0; i < wins.length; i++)
+                wins[i] += other.wins[i];
+            for (int i = 0; i < rolls.length; i++)
+                rolls[i] += other.rolls[i];
+        }
+    }
+
+    // [from, to) 번째 게임들. 많으면 반으로 나눈다
+    static final class Games extends RecursiveTask<Stats> {
+        private static final long serialVersionUID = 1L;
+
+        private final int playerCnt;
+        private final long seed;
+        private final long from;
+        private final long to;
+
+        Games(int playerCnt, long seed, long from, long to) {
+            this.playerCnt = playerCnt;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Stats compute() {
+            if (to - from <= LEAF_GAMES) {
+                // 묶음마다 seed 를 따로 두어 어느 스레드가 돌려도 같은 게임이 나온다
+                SplittableRandom random = new SplittableRandom(seed + from * 0x9E3779B97F4A7C15L);
+                Stats stats = new Stats();
+                for (long i = from; i < to; i++)
+                    play(playerCnt, random, stats);
+                return stats;
+            }
+            long mid = (from + to) >>> 1;
+            Games left = new Games(playerCnt, seed, from, mid);
+            left.fork();
+            Stats stats = new Games(playerCnt, seed, mid, to).compute();
+            stats.add(left.join());
+            return stats;
+        }
+    }
+
+    // 게임 하나를 끝까지 두고 stats 에 더한다
+    static void play(int playerCnt, SplittableRandom random, Stats stats) {
+        GameEngine engine = new GameEngine(playerCnt);
+        stats.games += 1;
+        while (engine.getTurnCount() < MAX_TURNS) {
+            int seat = engine.currentSeat();
+            // 윷, 모가 나오면 계속 던진다 (502)
+            GameEngine.Roll roll;
+            do {
+                roll = engine.roll(random);
+                stats.rolls[roll.value() + 1] += 1;
+            } while (roll.isAgain());
+
+            // 남은 윷 결과를 다 쓰거나, 잡아서 한 번 더 던지거나, 턴이 넘어갈 때까지 둔다
+            while (engine.currentSeat() == seat && engine.getPendingCnt() > 0) {
+                List<GameEngine.Move> moves = engine.legalMoves();
+                if (moves.isEmpty()) {
+                    engine.pass();
+                    break;
+                }
+                GameEngine.MoveResult result = engine.apply(seat, moves.get(random.nextInt(moves.size())));
+                if (engine.arrivedCount(seat) == GameEngine.PIECE_CNT) {
+                    stats.wins[seat] += 1;
+                    stats.turns += engine.getTurnCount(); // 도착하면서 apply() 가 이미 턴을 넘겼다
+                    return;
+                }
+                if (result.captured())
+                    break;
+            }
+        }
+        stats.unfinished += 1;
+        stats.turns += engine.getTurnCount();
+    }
+
+    static Stats run(ForkJoinPool pool, int playerCnt, long games, long seed) {
+        return pool.invoke(new Games(playerCnt, seed, 0, games));
+    }
+
+    public static void main(String[] args) {
+        long games = 1_000_000;
+        int[] players = { 2, 3, 4 };
+        long seed = new SplittableRandom().nextLong();
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        try {
+            for (String arg : args) {
+                int eq = arg.indexOf('=');
+                String key = eq == -1 ? arg : arg.substring(0, eq);
+                String value = eq == -1 ? "" : arg.substring(eq + 1);
+                switch (key) {
+                    case "--games":
+                        games = Long.parseLong(value);
+                        break;
+                    case "--players":
+                        String[] split = value.split(",");
+                        players = new int[split.length];
+                        for (int i = 0; i < split.length; i++) {
+                            players[i] = Integer.parseInt(split[i]);
+                            if (players[i] < 2 || players[i] > GameEngine.MAX_PLAYER)
+                                throw new IllegalArgumentException("players must be 2 ~ 4: " + split[i]);
+                        }
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(value);
+                        break;
+                    case "--parallelism":
+                        parallelism = Integer.parseInt(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("unknown argument: " + arg);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        System.out.printf("seed %d, %d games per player count, %d threads%n", seed, games, parallelism);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (int playerCnt : players) {
+                long start = System.nanoTime();
+                Stats stats = run(pool, playerCnt, games, seed);
+                double sec = (System.nanoTime() - start) / 1e9;
+                print(playerCnt, stats, sec);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void print(int playerCnt, Stats stats, double sec) {
+        System.out.printf("%n== %d players: %d games in %.2fs (%.0f games/sec)%n",
+                playerCnt, stats.games, sec, stats.games / sec);
+        System.out.printf("avg turns %.2f, unfinished %d%n", (double) stats.turns / stats.games, stats.unfinished);
+        StringBuilder wins = new StringBuilder("win rate by seat:");
+        for (int seat = 0; seat < playerCnt; seat++)
+            wins.append(String.format(" %d=%.2f%%", seat, 100.0 * stats.wins[seat] / stats.games));
+        System.out.println(wins);
+
+        long rollTotal = 0;
+        for (long count : stats.rolls)
+            rollTotal += count;
+        String[] names = { "backdo", "", "do", "gae", "geol", "yut", "mo" };
+        StringBuilder rolls = new StringBuilder("rolls:");
+        for (int i = 0; i < stats.rolls.length; i++) {
+            if (i == 1) // 0 은 나오지 않는다
+                continue;
+            rolls.append(String.format(" %s=%.2f%%", names[i], 100.0 * stats.rolls[i] / rollTotal));
+        }
+        System.out.println(rolls);
+    }
+}
@@ -0,0 +1,109 @@
+package Yootgame.source.game;
+
+// YutBoard.java 윷판 칸 연결과 (출발 칸, 윷 결과) -> 도착 칸 표. 서버와 클라이언트가 같이 쓴다.
+//
+// 칸 번호: 바깥 0 ~ 19, 4 -> 14 대각선 25 26 (22) 27 28, 9 -> 도착 대각선 20 21 22 23 24, 도착 29.
+// 판에 올라가지 않은 말은 -1 이다.
+// 모서리(4, 9)나 가운데(22)에 멈춘 말은 다음에 지름길로 간다.
+// 표는 아래 ROUTES 로 한 번만 만들고, 찾을 때는 배열 하나만 읽는다.
+public final class YutBoard {
+    public static final int HOME = -1; // 아직 판에 올라가지 않음
+    public static final int GOAL = 29;
+    public static final int SPOT_CNT = 30; // 0 ~ 29
+    public static final int BACKDO = -1;
+    public static final int MAX_ROLL = 5; // 모
+
+    // 말이 가는 길. 첫 칸에 멈춰 있던 말은 그 길을 따라간다.
+    // 가운데 22 는 4 쪽 대각선에서 지나갈 때는 27 로, 22 에 멈췄다가 출발하면 도착 쪽(23)으로 간다.
+    private static final int[] OUTER = { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, GOAL };
+    private static final int[] FROM_4 = { 4, 25, 26, 22, 27, 28, 14, 15, 16, 17, 18, 19, GOAL };
+    private static final int[] FROM_9 = { 9, 20, 21, 22, 23, 24, GOAL };
+    private static final int[] FROM_22 = { 22, 23, 24, GOAL };
+    // 빽도로 한 칸 뒤로 갈 때 찾아보는 순서. 22 는 9 쪽 대각선(21)으로, 14 는 바깥(13)으로 돌아간다.
+    private static final int[][] BACKDO_ROUTES = { FROM_9, OUTER, FROM_4 };
+
+    private static final int COLS = MAX_ROLL + 2; // 윷 결과 -1, (0), 1 ~ 5
+    // NEXT[(from + 1) * COLS + roll + 1] = 도착 칸
+    private static final byte[] NEXT = build();
+
+    private YutBoard() {
+    }
+
+    // from 칸의 말이 roll(-1 = 빽도, 1 ~ 5) 만큼 갔을 때의 칸.
+    // 빽도로 갈 곳이 없으면(판에 없는 말) -1
+    public static int next(int from, int roll) {
+        return NEXT[(from + 1) * COLS + roll + 1];
+    }
+
+    // from 칸의 말이 roll 만큼 갈 때 도착 칸 전까지 지나가는 칸들. next() 와 같은 길을 따라간다.
+    // 빽도는 지나가는 칸이 없다. 도중에 도착(GOAL) 하면 GOAL 까지만 넣는다
+    public static byte[] path(int from, int roll) {
+        if (roll <= 1 || from == GOAL)
+            return new byte[0];
+        int[] route = from == HOME ? OUTER : routeOf(from);
+        int idx = from == HOME ? -1 : indexOf(route, from);
+        byte[] path = new byte[Math.min(roll - 1, route.length - 1 - idx)];
+        for (int i = 0; i < path.length; i++)
+            path[i] = (byte) route[idx + 1 + i];
+        return path;
+    }
+
+    private static byte[] build() {
+        byte[] table = new byte[(SPOT_CNT + 1) * COLS];
+        for (int from = HOME; from < SPOT_CNT; from++) {
+            int row = (from + 1) * COLS;
+            table[row + 1] = (byte) from; // roll 0 은 쓰지 않는다. 제자리
+            table[row] = (byte) backdo(from);
+            for (int roll = 1; roll <= MAX_ROLL; roll++)
+                table[row + roll + 1] = (byte) forward(from, roll);
+        }
+        return table;
+    }
+
+    private static int forward(int from, int roll) {
+        if (from == GOAL)
+            return GOAL;
+        if (from == HOME)
+            return OUTER[roll - 1];
+        int[] route = routeOf(from);
+        int idx = indexOf(route, from);
+        return route[Math.min(idx + roll, route.length - 1)];
+    }
+
+    // from 칸에 멈춰 있던 말이 따라가는 길
+    private static int[] routeOf(int from) {
+        if (from == 4)
+            return FROM_4;
+        else if (from == 9)
+            return FROM_9;
+        else if (from == 22)
+            return FROM_22;
+        else if (from >= 25)
+            return FROM_4;
+        else if (from >= 20)
+            return FROM_9;
+        else
+            return OUTER;
+    }
+
+    private static int backdo(int from) {
+        if (from == HOME || from == GOAL) // 판에 없는 말은 뒤로 갈 곳이 없다
+            return from;
+        if (from == OUTER[0]) // 첫 칸에서 빽도면 바깥 마지막 칸으로 돌아간다
+            return OUTER[OUTER.length - 2];
+        for (int[] route : BACKDO_ROUTES) {
+            int idx = indexOf(route, from);
+            if (idx > 0)
+                return route[idx - 1];
+        }
+        throw new IllegalStateException("no route to " + from);
+    }
+
+    private static int indexOf(int[] route, int spot) {
+        for (int i = 0; i < route.length; i++) {
+            if (route[i] == spot)
+                return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,247 @@
+package Yootgame.source.log;
+
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Log.java 서버와 클라이언트가 같이 쓰는 레벨 로그.
+//
+// 카테고리는 점으로 나눈 이름 ("server.room.3") 이고, 레벨은 가장 가까운 상위 카테고리 설정을 따른다.
+//   -Dyut.log=WARN                  전체 (기본 WARN)
+//   -Dyut.log.server.room.3=DEBUG   3번 방만 DEBUG
+//   Log.setLevel("client", Level.DEBUG)  실행 중에 바꾸기
+//
+// 꺼진 레벨은 int 비교 한 번으로 끝나고 아무것도 만들지 않는다.
+// 켜진 레벨도 호출한 스레드는 큐에 넣기만 하고, "{}" 치환과 출력은 log-writer 스레드가 모아서 한다.
+// 그래서 인자로는 나중에 바뀌지 않는 값을 넘긴다. 큐가 가득 차면 버리고 개수만 센다.
+public final class Log {
+    public enum Level {
+        DEBUG, INFO, WARN, ERROR, OFF
+    }
+
+    private static final Level DEFAULT_LEVEL = parseLevel(System.getProperty("yut.log"), Level.WARN);
+    private static final int BATCH = 256;
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS")
+            .withZone(ZoneId.systemDefault());
+
+    private record Entry(long time, Level level, String category, String fmt, int argc,
+            Object a, Object b, Object c, Throwable t) {
+    }
+
+    private static final Map<String, Level> overrides = new ConcurrentHashMap<>();
+    private static final AtomicInteger generation = new AtomicInteger(); // setLevel 할 때마다 올린다
+    private static final BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(Integer.getInteger("yut.log.queue", 8192));
+    private static final AtomicLong dropped = new AtomicLong();
+    private static final AtomicLong queued = new AtomicLong(); // 큐에 넣은 줄 수
+    private static final AtomicLong written = new AtomicLong(); // 출력까지 끝난 줄 수
+    private static volatile PrintStream out = System.out;
+
+    static {
+        Thread.ofPlatform().name("log-writer").daemon().start(Log::drain);
+    }
+
+    private final String category;
+    private volatile int level; // Level.ordinal()
+    private volatile int levelGen = -1;
+
+    private Log(String category) {
+        this.category = category;
+    }
+
+    // 카테고리마다 하나씩 만들어 static final 이나 필드로 들고 쓴다. 따로 등록해 두지 않는다
+    public static Log get(String category) {
+        return new Log(category);
+    }
+
+    // category 와 그 아래 카테고리의 레벨을 바꾼다. null 이면 설정을 지운다
+    public static void setLevel(String category, Level level) {
+        if (level == null)
+            overrides.remove(category);
+        else
+            overrides.put(category, level);
+        generation.incrementAndGet();
+    }
+
+    public static void setOutput(PrintStream stream) {
+        out = stream;
+    }
+
+    // 지금까지 큐에 넣은 줄이 다 출력될 때까지 최대 timeoutMs 기다린다. 종료 직전에 부른다
+    public static void flush(long timeoutMs) {
+        long target = queued.get();
+        long deadline = System.nanoTime() + timeoutMs * 1_000_000;
+        while (written.get() < target && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public boolean isEnabled(Level lv) {
+        int gen = generation.get();
+        if (levelGen != gen) {
+            level = resolve(category).ordinal();
+            levelGen = gen;
+        }
+        return lv.ordinal() >= level;
+    }
+
+    public boolean isDebugEnabled() {
+        return isEnabled(Level.DEBUG);
+    }
+
+    public void debug(String msg) {
+        if (isEnabled(Level.DEBUG))
+            enqueue(Level.DEBUG, msg, 0, null, null, null, null);
+    }
+
+    public void debug(String fmt, Object a) {
+        if (isEnabled(Level.DEBUG))
+            enqueue(Level.DEBUG, fmt, 1, a, null, null, null);
+    }
+
+    public void debug(String fmt, Object a, Object b) {
+        if (isEnabled(Level.DEBUG))
+            enqueue(Level.DEBUG, fmt, 2, a, b, null, null);
+    }
+
+    public void debug(String fmt, Object a, Object b, Object c) {
+        if (isEnabled(Level.DEBUG))
+            enqueue(Level.DEBUG, fmt, 3, a, b, c, null);
+    }
+
+    public void info(String msg) {
+        if (isEnabled(Level.INFO))
+            enqueue(Level.INFO, msg, 0, null, null, null, null);
+    }
+
+    public void info(String fmt, Object a) {
+        if (isEnabled(Level.INFO))
+            enqueue(Level.INFO, fmt, 1, a, null, null, null);
+    }
+
+    public void info(String fmt, Object a, Object b) {
+        if (isEnabled(Level.INFO))
+            enqueue(Level.INFO, fmt, 2, a, b, null, null);
+    }
+
+    public void warn(String msg) {
+        if (isEnabled(Level.WARN))
+            enqueue(Level.WARN, msg, 0, null, null, null, null);
+    }
+
+    public void warn(String fmt, Object a) {
+        if (isEnabled(Level.WARN))
+            enqueue(Level.WARN, fmt, 1, a, null, null, null);
+    }
+
+    public void warn(String fmt, Object a, Object b) {
+        if (isEnabled(Level.WARN))
+            enqueue(Level.WARN, fmt, 2, a, b, null, null);
+    }
+
+    public void warn(String msg, Throwable t) {
+        if (isEnabled(Level.WARN))
+            enqueue(Level.WARN, msg, 0, null, null, null, t);
+    }
+
+    public void error(String msg, Throwable t) {
+        if (isEnabled(Level.ERROR))
+            enqueue(Level.ERROR, msg, 0, null, null, null, t);
+    }
+
+    private void enqueue(Level lv, String fmt, int argc, Object a, Object b, Object c, Throwable t) {
+        if (queue.offer(new Entry(System.currentTimeMillis(), lv, category, fmt, argc, a, b, c, t)))
+            queued.incrementAndGet();
+        else
+            dropped.incrementAndGet();
+    }
+
+    // "server.room.3" -> "server.room" -> "server" 순서로 찾는다
+    private static Level resolve(String category) {
+        String name = category;
+        while (true) {
+            Level lv = overrides.get(name);
+            if (lv == null)
+                lv = parseLevel(System.getProperty("yut.log." + name), null);
+            if (lv != null)
+                return lv;
+            int dot = name.lastIndexOf('.');
+            if (dot == -1)
+                return DEFAULT_LEVEL;
+            name = name.substring(0, dot);
+        }
+    }
+
+    private static Level parseLevel(String value, Level fallback) {
+        if (value == null)
+            return fallback;
+        try {
+            return Level.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+
+    private static void drain() {
+        List<Entry> batch = new ArrayList<>(BATCH);
+        StringBuilder sb = new StringBuilder();
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, BATCH - 1);
+            long lost = dropped.getAndSet(0);
+            if (lost > 0)
+                sb.append("... log ").append(lost).append(" lines dropped\n");
+            for (Entry e : batch)
+                format(sb, e);
+            PrintStream stream = out;
+            stream.print(sb); // 모은 줄을 한 번에 쓴다
+            stream.flush();
+            written.addAndGet(batch.size());
+            sb.setLength(0);
+            batch.clear();
+        }
+    }
+
+    private static void format(StringBuilder sb, Entry e) {
+        TIME.formatTo(Instant.ofEpochMilli(e.time()), sb);
+        sb.append(' ').append(e.level()).append(" [").append(e.category()).append("] ");
+        String fmt = e.fmt();
+        int from = 0;
+        for (int i = 0; i < e.argc(); i++) {
+            int at = fmt.indexOf("{}", from);
+            if (at == -1)
+                break;
+            sb.append(fmt, from, at).append(i == 0 ? e.a() : i == 1 ? e.b() : e.c());
+            from = at + 2;
+        }
+        sb.append(fmt, from, fmt.length()).append('\n');
+        if (e.t() != null) {
+            StringWriter trace = new StringWriter();
+            e.t().printStackTrace(new PrintWriter(trace));
+            sb.append(trace);
+        }
+    }
+}
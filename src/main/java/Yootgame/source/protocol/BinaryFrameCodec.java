@@ -0,0 +1,225 @@
+package Yootgame.source.protocol;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// BinaryFrameCodec.java ObjectStream 대신 쓰는 길이 기반 binary 메시지 형식. 서버와 클라이언트가 같이 쓴다.
+//
+// 접속 직후 클라이언트가 HANDSHAKE 3 바이트를 먼저 보내면 그 연결은 binary 로 주고받는다.
+// (ObjectOutputStream 의 stream header 는 0xACED 로 시작하므로 첫 바이트로 구분된다.)
+//
+// frame  = varint(body 길이) body
+// body   = opcode(1 byte) [opcode 가 0 이면 varint 길이 + UTF-8 code] varint 길이 + UTF-8 UserName payload
+// payload = 0(1 byte) varint 길이 + UTF-8 data [code 300 이면 varint 길이 + 이미지 bytes]
+//         | GameEvent type(1 byte) 이벤트 필드 (GameEvent.writeTo)
+public final class BinaryFrameCodec {
+    public static final byte[] HANDSHAKE = { 'Y', 'B', 2 }; // magic + version
+    public static final int MAX_FRAME_LEN = 16 * 1024 * 1024; // 이미지(300) 한 장까지
+
+    // opcode = 배열 index + 1. 0 은 표에 없는 code 를 문자열로 보낼 때 쓴다.
+    private static final String[] CODES = { "100", "101", "102", "103", "104", "105", "200", "300", "400",
+            "500", "501", "502", "503", "504", "505", "506", "507", "999" };
+
+    // 디코딩 결과. 서버/클라이언트가 각자의 ChatMsg 로 옮긴다.
+    // 이벤트가 실린 frame 이면 data 는 null 이고 event 에 값이 있다.
+    public record Frame(String code, String userName, String data, byte[] imgbytes, GameEvent event) {
+    }
+
+    private BinaryFrameCodec() {
+    }
+
+    public static boolean isHandshake(byte first) {
+        return first == HANDSHAKE[0];
+    }
+
+    public static void writeHandshake(OutputStream out) throws IOException {
+        out.write(HANDSHAKE);
+        out.flush();
+    }
+
+    // 접속 직후 HANDSHAKE 나머지 바이트(첫 바이트 다음)를 확인한다
+    public static void readHandshake(DataInputStream in) throws IOException {
+        byte[] rest = new byte[HANDSHAKE.length - 1];
+        in.readFully(rest);
+        if (rest[0] != HANDSHAKE[1] || rest[1] != HANDSHAKE[2])
+            throw new StreamCorruptedException("unsupported wire version");
+    }
+
+    public static int opcodeOf(String code) {
+        for (int i = 0; i < CODES.length; i++) {
+            if (CODES[i].equals(code))
+                return i + 1;
+        }
+        return 0;
+    }
+
+    public static byte[] encode(String code, String userName, String data, byte[] imgbytes) {
+        return encode(code, userName, data, imgbytes, null);
+    }
+
+    // event 가 있으면 data / imgbytes 대신 이벤트 필드를 그대로 쓴다
+    public static byte[] encode(String code, String userName, String data, byte[] imgbytes, GameEvent event) {
+        int opcode = opcodeOf(code);
+        byte[] codeBytes = opcode == 0 ? utf8(code) : null;
+        byte[] name = utf8(userName);
+        byte[] text = event == null ? utf8(data) : null;
+        byte[] img = event == null && "300".equals(code) ? (imgbytes == null ? new byte[0] : imgbytes) : null;
+
+        int bodyLen = 2 + sizeOf(name) + (event == null ? sizeOf(text) : event.size());
+        if (codeBytes != null)
+            bodyLen += sizeOf(codeBytes);
+        if (img != null)
+            bodyLen += sizeOf(img);
+
+        ByteBuffer buf = ByteBuffer.allocate(varintSize(bodyLen) + bodyLen);
+        putVarint(buf, bodyLen);
+        buf.put((byte) opcode);
+        if (codeBytes != null)
+            putBytes(buf, codeBytes);
+        putBytes(buf, name);
+        if (event != null) {
+            buf.put(event.type());
+            event.writeTo(buf);
+        } else {
+            buf.put((byte) 0);
+            putBytes(buf, text);
+            if (img != null)
+                putBytes(buf, img);
+        }
+        return buf.array();
+    }
+
+    // NIO 용: buf 의 position 부터 frame 하나를 읽는다. 아직 다 안 들어왔으면 position 을 그대로 두고 null
+    public static Frame decode(ByteBuffer buf) throws StreamCorruptedException {
+        int start = buf.position();
+        int bodyLen = getVarint(buf);
+        if (bodyLen == -1 || buf.remaining() < bodyLen) {
+            buf.position(start);
+            return null;
+        }
+        ByteBuffer body = buf.slice(buf.position(), bodyLen);
+        buf.position(buf.position() + bodyLen);
+        return decodeBody(body);
+    }
+
+    // 블로킹 소켓 용: frame 하나가 다 들어올 때까지 기다린다
+    public static Frame read(DataInputStream in) throws IOException {
+        int bodyLen = 0;
+        for (int shift = 0; ; shift += 7) {
+            if (shift > 28)
+                throw new StreamCorruptedException("varint too long");
+            int b = in.readUnsignedByte();
+            bodyLen |= (b & 0x7f) << shift;
+            if ((b & 0x80) == 0)
+                break;
+        }
+        checkFrameLen(bodyLen);
+        byte[] body = new byte[bodyLen];
+        in.readFully(body);
+        return decodeBody(ByteBuffer.wrap(body));
+    }
+
+    public static void write(OutputStream out, String code, String userName, String data, byte[] imgbytes)
+            throws IOException {
+        out.write(encode(code, userName, data, imgbytes));
+    }
+
+    public static void write(OutputStream out, String code, String userName, String data, byte[] imgbytes,
+            GameEvent event) throws IOException {
+        out.write(encode(code, userName, data, imgbytes, event));
+    }
+
+    private static Frame decodeBody(ByteBuffer body) throws StreamCorruptedException {
+        try {
+            int opcode = body.get() & 0xff;
+            String code;
+            if (opcode == 0)
+                code = getString(body);
+            else if (opcode <= CODES.length)
+                code = CODES[opcode - 1];
+            else
+                throw new StreamCorruptedException("unknown opcode " + opcode);
+            String userName = getString(body);
+            byte kind = body.get();
+            if (kind != 0)
+                return new Frame(code, userName, null, null, GameEvent.read(kind, body));
+            String data = getString(body);
+            byte[] img = "300".equals(code) ? getBytes(body) : null;
+            return new Frame(code, userName, data, img, null);
+        } catch (RuntimeException e) { // 길이가 body 를 넘어가는 잘못된 frame
+            throw new StreamCorruptedException("malformed frame: " + e);
+        }
+    }
+
+    private static void checkFrameLen(int len) throws StreamCorruptedException {
+        if (len < 0 || len > MAX_FRAME_LEN)
+            throw new StreamCorruptedException("frame too long: " + len);
+    }
+
+    // varint 가 아직 다 안 들어왔으면 -1
+    private static int getVarint(ByteBuffer buf) throws StreamCorruptedException {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            if (!buf.hasRemaining())
+                return -1;
+            if (shift > 28)
+                throw new StreamCorruptedException("varint too long");
+            int b = buf.get() & 0xff;
+            value |= (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                checkFrameLen(value);
+                return value;
+            }
+        }
+    }
+
+    static String getString(ByteBuffer buf) throws StreamCorruptedException {
+        int len = getVarint(buf);
+        if (len == -1 || len > buf.remaining())
+            throw new StreamCorruptedException("truncated frame");
+        String s = new String(buf.array(), buf.arrayOffset() + buf.position(), len, StandardCharsets.UTF_8);
+        buf.position(buf.position() + len);
+        return s;
+    }
+
+    private static byte[] getBytes(ByteBuffer buf) throws StreamCorruptedException {
+        int len = getVarint(buf);
+        if (len == -1)
+            throw new StreamCorruptedException("truncated frame");
+        byte[] bytes = new byte[len];
+        buf.get(bytes);
+        return bytes;
+    }
+
+    private static byte[] utf8(String s) {
+        return s == null ? new byte[0] : s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int sizeOf(byte[] bytes) {
+        return varintSize(bytes.length) + bytes.length;
+    }
+
+    private static void putBytes(ByteBuffer buf, byte[] bytes) {
+        putVarint(buf, bytes.length);
+        buf.put(bytes);
+    }
+
+    static int varintSize(int value) {
+        int size = 1;
+        while ((value >>>= 7) != 0)
+            size += 1;
+        return size;
+    }
+
+    static void putVarint(ByteBuffer buf, int value) {
+        while ((value & ~0x7f) != 0) {
+            buf.put((byte) ((value & 0x7f) | 0x80));
+            value >>>= 7;
+        }
+        buf.put((byte) value);
+    }
+}
@@ -0,0 +1,458 @@
+package Yootgame.source.protocol;
+
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// GameEvent.java 게임 메시지의 내용을 문자열 대신 필드로 들고 있는 타입들.
+// binary 연결에서는 필드를 그대로 BinaryFrameCodec frame 에 쓴다.
+// ObjectStream 연결과는 예전 공백 구분 문자열(toLegacyData / parse...)로 바꿔서 주고받는다.
+public sealed interface GameEvent {
+    byte USER_INFO = 1;
+    byte TURN_CHANGE = 2;
+    byte ROLL_RESULT = 3;
+    byte PENDING_ROLLS = 4;
+    byte BOARD_SNAPSHOT = 5;
+    byte REST_COUNTS = 6;
+    byte MOVE_REQUEST = 7;
+    byte BOARD_DELTA = 8;
+
+    byte type();
+
+    // writeTo 가 쓰는 바이트 수
+    int size();
+
+    void writeTo(ByteBuffer buf);
+
+    // ObjectStream 으로 보낼 때 쓰는 예전 data 문자열
+    String toLegacyData();
+
+    // 102 "idx name owner ready ..."
+    record UserInfo(List<Entry> users) implements GameEvent {
+        public record Entry(int idx, String name, boolean owner, boolean ready) {
+        }
+
+        public byte type() {
+            return USER_INFO;
+        }
+
+        public int size() {
+            int size = 1;
+            for (Entry e : users)
+                size += 2 + sizeOf(e.name);
+            return size;
+        }
+
+        public void writeTo(ByteBuffer buf) {
+            buf.put((byte) users.size());
+            for (Entry e : users) {
+                buf.put((byte) e.idx);
+                putString(buf, e.name);
+                buf.put((byte) ((e.owner ? 1 : 0) | (e.ready ? 2 : 0)));
+            }
+        }
+
+        public String toLegacyData() {
+            StringBuilder data = new StringBuilder();
+            for (Entry e : users)
+                data.append(e.idx).append(' ').append(e.name).append(' ').append(e.owner).append(' ')
+                        .append(e.ready).append(' ');
+            return data.toString();
+        }
+
+        static UserInfo read(ByteBuffer buf) throws StreamCorruptedException {
+            int cnt = buf.get();
+            List<Entry> users = new ArrayList<>(cnt);
+            for (int i = 0; i < cnt; i++) {
+                int idx = buf.get();
+                String name = getString(buf);
+                int flags = buf.get();
+                users.add(new Entry(idx, name, (flags & 1) != 0, (flags & 2) != 0));
+            }
+            return new UserInfo(users);
+        }
+
+        public static UserInfo parse(String data) {
+            String[] tok = data.split(" ");
+            List<Entry> users = new ArrayList<>();
+            for (int i = 0; i + 3 < tok.length; i += 4)
+                users.add(new Entry(Integer.parseInt(tok[i]), tok[i + 1], Boolean.parseBoolean(tok[i + 2]),
+                        Boolean.parseBoolean(tok[i + 3])));
+            return new UserInfo(users);
+        }
+    }
+
+    // 500 "name turnIdx true"
+    record TurnChange(String userName, int turnIdx) implements GameEvent {
+        public byte type() {
+            return TURN_CHANGE;
+        }
+
+        public int size() {
+            return sizeOf(userName) + 1;
+        }
+
+        public void writeTo(ByteBuffer buf) {
+            putString(buf, userName);
+            buf.put((byte) turnIdx);
+        }
+
+        public String toLegacyData() {
+            return userName + " " + turnIdx + " true";
+        }
+
+        static TurnChange read(ByteBuffer buf) throws StreamCorruptedException {
+            return new TurnChange(getString(buf), buf.get());
+        }
+
+        public static TurnChange parse(String data) {
+            String[] tok = data.split(" ");
+            return new TurnChange(tok[0], Integer.parseInt(tok[1]));
+        }
+    }
+
+    // 501 윷 4개 (1 = 앞면, 0 = 뒷면, -1 = 빽도 표시된 윷) 와 결과 값 (-1, 1 ~ 5)
+    record RollResult(byte[] sticks, int value) implements GameEvent {
+        public byte type() {
+            return ROLL_RESULT;
+        }
+
+        public int size() {
+            return 5;
+        }
+
+        public void writeTo(ByteBuffer buf) {
+            buf.put(sticks, 0, 4);
+            buf.put((byte) value);
+        }
+
+        public String toLegacyData() {
+            StringBuilder data = new StringBuilder();
+            for (int i = 0; i < 4; i++)
+                data.append(sticks[i]).append(' ');
+            return data.append(value).toString();
+        }
+
+        static RollResult read(ByteBuffer buf) {
+            byte[] sticks = new byte[4];
+            buf.get(sticks);
+            return new RollResult(sticks, buf.get());
+        }
+
+        public static RollResult parse(String data) {
+            String[] tok = data.split(" ");
+            byte[] sticks = new byte[4];
+            for (int i = 0; i < 4; i++)
+                sticks[i] = Byte.parseByte(tok[i]);
+            return new RollResult(sticks, Integer.parseInt(tok[4]));
+        }
+    }
+
+    // 503 이번 턴에 아직 쓰지 않은 윷 결과 (정렬됨)
+    record PendingRolls(byte[] rolls) implements GameEvent {
+        public byte type() {
+            return PENDING_ROLLS;
+        }
+
+        public int size() {
+            return 1 + rolls.length;
+        }
+
+        public void writeTo(ByteBuffer buf) {
+            buf.put((byte) rolls.length);
+            buf.put(rolls);
+        }
+
+        public String toLegacyData() {
+            StringBuilder data = new StringBuilder();
+            for (byte roll : rolls)
+                data.append(roll).append(' ');
+            return data.toString();
+        }
+
+        static PendingRolls read(ByteBuffer buf) {
+            byte[] rolls = new byte[buf.get()];
+            buf.get(rolls);
+            return new PendingRolls(rolls);
+        }
+
+        public static PendingRolls parse(String data) {
+            String[] tok = data.trim().split(" ");
+            byte[] rolls = new byte[tok[0].isEmpty() ? 0 : tok.length];
+            for (int i = 0; i < rolls.length; i++)
+                rolls[i] = Byte.parseByte(tok[i]);
+            return new PendingRolls(rolls);
+        }
+    }
+
+    // 504 (서버 -> 클라이언트) 판 위의 모든 말. positions[userIdx * 4 + 말 번호] = 칸 번호, 판 밖이면 -1
+    record BoardSnapshot(byte[] positions) implements GameEvent {
+        public byte type() {
+            return BOARD_SNAPSHOT;
+        }
+
+        public int size() {
+            return 1 + positions.length;
+        }
+
+        public void writeTo(ByteBuffer buf) {
+            buf.put((byte) positions.length);
+            buf.put(positions);
+        }
+
+        // "user 0 말번호 칸 말번호 칸 user 1 ..."
+        public String toLegacyData() {
+            StringBuilder data = new StringBuilder();
+            for (int user = 0; user < positions.length / 4; user++) {
+                data.append("user").append(' ').append(user).append(' ');
+                for (int j = 0; j < 4; j++) {
+                    if (positions[user * 4 + j] != -1)
+                        data.append(j).append(' ').append(positions[user * 4 + j]).append(' ');
+                }
+            }
+            return data.toString();
+        }
+
+        static BoardSnapshot read(ByteBuffer buf) {
+            byte[] positions = new byte[buf.get()];
+            buf.get(positions);
+            return new BoardSnapshot(positions);
+        }
+
+        public static BoardSnapshot parse(String data) {
+            byte[] positions = new byte[16];
+            java.util.Arrays.fill(positions, (byte) -1);
+            String[] tok = data.split(" ");
+            int user = 0;
+            for (int i = 0; i + 1 < tok.length; i += 2) {
+                if (tok[i].equals("user"))
+                    user = Integer.parseInt(tok[i + 1]);
+                else
+                    positions[user * 4 + Integer.parseInt(tok[i])] = Byte.parseByte(tok[i + 1]);
+            }
+            return new BoardSnapshot(positions);
+        }
+    }
+
+    // 504 (서버 -> 클라이언트) 직전에 보낸 판에서 바뀐 말만. 잡힌 말과 업힌 말은 to 가 -1 이다.
+    // changes 는 말 하나에 3 바이트 (userIdx * 4 + 말 번호, from, to).
+    // 말을 옮긴 결과면 moveSlot 말이 지나간 칸들(도착 칸 제외)이 path 에 있다. 클라이언트가 한 칸씩 보여 준다.
+    // board 는 바뀐 뒤의 전체 판으로, ObjectStream 클라이언트에 예전 504 문자열을 만들 때만 쓰고 binary 로는 보내지 않는다.
+    record BoardDelta(byte[] changes, int moveSlot, byte[] path, byte[] board) implements GameEvent {
+        public int count() {
+            return changes.length / 3;
+        }
+
+        public int slot(int i) {
+            return changes[i * 3];
+        }
+
+        public int from(int i) {
+            return changes[i * 3 + 1];
+        }
+
+        public int to(int i) {
+            return changes[i * 3 + 2];
+        }
+
+        // 두 판을 비교해 바뀐 칸만 모은다. 바뀐 것이 없으면 null
+        public static BoardDelta diff(byte[] before, byte[] after) {
+            return diff(before, after, -1, new byte[0]);
+        }
+
+        public static BoardDelta diff(byte[] before, byte[] after, int moveSlot, byte[] path) {
+            int cnt = 0;
+            for (int i = 0; i < after.length; i++) {
+                if (before[i] != after[i])
+                    cnt += 1;
+            }
+            if (cnt == 0)
+                return null;
+            byte[] changes = new byte[cnt * 3];
+            int k = 0;
+            for (int i = 0; i < after.length; i++) {
+                if (before[i] != after[i]) {
+                    changes[k++] = (byte) i;
+                    changes[k++] = before[i];
+                    changes[k++] = after[i];
+                }
+            }
+            return new BoardDelta(changes, moveSlot, path, after);
+        }
+
+        public byte type() {
+            return BOARD_DELTA;
+        }
+
+        public int size() {
+            return 1 + changes.length + 2 + path.length;
+        }
+
+        public void writeTo(ByteBuffer buf) {
+            buf.put((byte) count());
+            buf.put(changes);
+            buf.put((byte) moveSlot);
+            buf.put((byte) path.length);
+            buf.put(path);
+        }
+
+        public String toLegacyData() {
+            return new BoardSnapshot(board).toLegacyData();
+        }
+
+        static BoardDelta read(ByteBuffer buf) {
+            byte[] changes = new byte[buf.get() * 3];
+            buf.get(changes);
+            int moveSlot = buf.get();
+            byte[] path = new byte[buf.get()];
+            buf.get(path);
+            return new BoardDelta(changes, moveSlot, path, null);
+        }
+    }
+
+    // 505 userIdx 별 아직 출발하지 않은 말 개수
+    record RestCounts(byte[] counts) implements GameEvent {
+        public byte type() {
+            return REST_COUNTS;
+        }
+
+        public int size() {
+            return 1 + counts.length;
+        }
+
+        public void writeTo(ByteBuffer buf) {
+            buf.put((byte) counts.length);
+            buf.put(counts);
+        }
+
+        public String toLegacyData() {
+            StringBuilder data = new StringBuilder();
+            for (byte cnt : counts)
+                data.append(cnt).append(' ');
+            return data.toString();
+        }
+
+        static RestCounts read(ByteBuffer buf) {
+            byte[] counts = new byte[buf.get()];
+            buf.get(counts);
+            return new RestCounts(counts);
+        }
+
+        public static RestCounts parse(String data) {
+            String[] tok = data.trim().split(" ");
+            byte[] counts = new byte[tok.length];
+            for (int i = 0; i < counts.length; i++)
+                counts[i] = Byte.parseByte(tok[i]);
+            return new RestCounts(counts);
+        }
+    }
+
+    // 504 (클라이언트 -> 서버) 화살표 클릭. objectIdx 가 -1 이면 새 말을 올린다.
+    // rollIdx 는 503 으로 받은 윷 결과 중 몇 번째를 쓰는지
+    record MoveRequest(int userIdx, int objectIdx, int arrowPos, int rollIdx) implements GameEvent {
+        public boolean isNewObject() {
+            return objectIdx == -1;
+        }
+
+        public byte type() {
+            return MOVE_REQUEST;
+        }
+
+        public int size() {
+            return 4;
+        }
+
+        public void writeTo(ByteBuffer buf) {
+            buf.put((byte) userIdx);
+            buf.put((byte) objectIdx);
+            buf.put((byte) arrowPos);
+            buf.put((byte) rollIdx);
+        }
+
+        // "new object arrowPos rollIdx" / "move object userIdx objectIdx arrowPos rollIdx"
+        public String toLegacyData() {
+            if (isNewObject())
+                return "new object " + arrowPos + " " + rollIdx;
+            return "move object " + userIdx + " " + objectIdx + " " + arrowPos + " " + rollIdx;
+        }
+
+        static MoveRequest read(ByteBuffer buf) {
+            return new MoveRequest(buf.get(), buf.get(), buf.get(), buf.get());
+        }
+
+        public static MoveRequest parse(String data) {
+            String[] tok = data.split(" ");
+            if (tok[0].equals("new"))
+                return new MoveRequest(-1, -1, Integer.parseInt(tok[2]), Integer.parseInt(tok[3]));
+            return new MoveRequest(Integer.parseInt(tok[2]), Integer.parseInt(tok[3]), Integer.parseInt(tok[4]),
+                    Integer.parseInt(tok[5]));
+        }
+    }
+
+    static GameEvent read(byte type, ByteBuffer buf) throws StreamCorruptedException {
+        switch (type) {
+            case USER_INFO:
+                return UserInfo.read(buf);
+            case TURN_CHANGE:
+                return TurnChange.read(buf);
+            case ROLL_RESULT:
+                return RollResult.read(buf);
+            case PENDING_ROLLS:
+                return PendingRolls.read(buf);
+            case BOARD_SNAPSHOT:
+                return BoardSnapshot.read(buf);
+            case REST_COUNTS:
+                return RestCounts.read(buf);
+            case MOVE_REQUEST:
+                return MoveRequest.read(buf);
+            case BOARD_DELTA:
+                return BoardDelta.read(buf);
+            default:
+                throw new StreamCorruptedException("unknown event type " + type);
+        }
+    }
+
+    // ObjectStream 으로 받은 서버 메시지를 이벤트로 바꾼다. 이벤트가 없는 code 면 null
+    static GameEvent parseFromServer(String code, String data) {
+        switch (code) {
+            case "102":
+                return UserInfo.parse(data);
+            case "500":
+                return TurnChange.parse(data);
+            case "501":
+                return RollResult.parse(data);
+            case "503":
+                return PendingRolls.parse(data);
+            case "504":
+                return BoardSnapshot.parse(data);
+            case "505":
+                return RestCounts.parse(data);
+            default:
+                return null;
+        }
+    }
+
+    // ObjectStream 으로 받은 클라이언트 메시지를 이벤트로 바꾼다. 이벤트가 없는 code 면 null
+    static GameEvent parseFromClient(String code, String data) {
+        if (code.equals("504"))
+            return MoveRequest.parse(data);
+        return null;
+    }
+
+    private static int sizeOf(String s) {
+        int len = s.getBytes(StandardCharsets.UTF_8).length;
+        return BinaryFrameCodec.varintSize(len) + len;
+    }
+
+    private static void putString(ByteBuffer buf, String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        BinaryFrameCodec.putVarint(buf, bytes.length);
+        buf.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buf) throws StreamCorruptedException {
+        return BinaryFrameCodec.getString(buf);
+    }
+}
@@ -0,0 +1,57 @@
+package Yootgame.source.server;
+
+import Yootgame.source.protocol.BinaryFrameCodec;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.util.concurrent.locks.ReentrantLock;
+
+// BinaryConnection.java BinaryFrameCodec 형식으로 주고받는 블로킹 연결.
+public class BinaryConnection implements BlockingConnection {
+    private Socket socket;
+    private DataInputStream in;
+    private OutputStream out;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public BinaryConnection(Socket socket, DataInputStream in, OutputStream out) {
+        this.socket = socket;
+        this.in = in;
+        this.out = out;
+    }
+
+    @Override
+    public ChatMsg read() throws IOException {
+        BinaryFrameCodec.Frame frame = BinaryFrameCodec.read(in);
+        ChatMsg cm = new ChatMsg(frame.userName(), frame.code(), frame.data());
+        cm.imgbytes = frame.imgbytes();
+        cm.event = frame.event();
+        return cm;
+    }
+
+    @Override
+    public void write(EncodedMessage msg) throws IOException {
+        writeLock.lock();
+        try {
+            msg.writeBinaryTo(out);
+            out.flush();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // 이미 닫힌 소켓
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(socket);
+    }
+}
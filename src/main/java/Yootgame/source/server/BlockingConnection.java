@@ -0,0 +1,35 @@
+package Yootgame.source.server;
+
+import Yootgame.source.protocol.BinaryFrameCodec;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.net.Socket;
+
+// BlockingConnection.java 스레드 하나가 소켓에서 직접 읽는 연결.
+public interface BlockingConnection extends ChatConnection {
+    // 메시지 하나가 다 들어올 때까지 기다린다
+    ChatMsg read() throws IOException;
+
+    // 클라이언트가 먼저 보내는 첫 바이트로 형식을 고른다.
+    // BinaryFrameCodec.HANDSHAKE 면 binary, 아니면 ObjectOutputStream 의 stream header 다.
+    // 주고받은 바이트는 metrics 에 센다
+    static BlockingConnection open(Socket socket, ServerMetrics metrics) throws IOException {
+        PushbackInputStream in = new PushbackInputStream(new BufferedInputStream(metrics.countIn(socket.getInputStream())));
+        OutputStream out = metrics.countOut(socket.getOutputStream());
+        int first = in.read();
+        if (first == -1)
+            throw new IOException("connection closed before handshake");
+        if (BinaryFrameCodec.isHandshake((byte) first)) {
+            DataInputStream din = new DataInputStream(in);
+            BinaryFrameCodec.readHandshake(din);
+            return new BinaryConnection(socket, din, new BufferedOutputStream(out));
+        }
+        in.unread(first);
+        return new ObjectStreamConnection(socket, in, out);
+    }
+}
@@ -0,0 +1,23 @@
+package Yootgame.source.server;
+
+import java.io.IOException;
+
+// ChatConnection.java 클라이언트 한 명과의 연결.
+// 블로킹 소켓(ObjectStreamConnection) 과 NIO(NioServer) 가 같은 방식으로 ChatMsg 를 보낸다.
+public interface ChatConnection {
+    // 인코딩해 둔 메시지를 보낸다. 연결이 끊겼으면 IOException
+    void write(EncodedMessage msg) throws IOException;
+
+    // ChatMsg 하나를 보낸다. 여러 연결에 보낼 때는 EncodedMessage 를 하나 만들어 같이 쓴다
+    default void write(ChatMsg msg) throws IOException {
+        write(new EncodedMessage(msg));
+    }
+
+    // 아직 보내지 못하고 쌓여 있는 메시지 수
+    default int pendingWrites() {
+        return 0;
+    }
+
+    // 연결을 닫는다. 여러 번 불러도 된다.
+    void close();
+}
@@ -1,15 +1,31 @@
 package Yootgame.source.server;
 
+import Yootgame.source.protocol.GameEvent;
+
 // ChatMsg.java 채팅 메시지 ObjectStream 용.
 public class ChatMsg {
     public String code; // 100:로그인, 400:로그아웃, 200:채팅메시지, 300:Image, 500: Mouse Event
     public String UserName;
     public String data;
     public byte[] imgbytes;
+    public GameEvent event; // 게임 메시지는 data 문자열 대신 이벤트로 주고받는다
 
     public ChatMsg(String UserName, String code, String msg) {
         this.code = code;
         this.UserName = UserName;
         this.data = msg;
     }
-}
\ No newline at end of file
+
+    public ChatMsg(String UserName, String code, GameEvent event) {
+        this.code = code;
+        this.UserName = UserName;
+        this.event = event;
+    }
+
+    // ObjectStream 으로 보낼 data. 이벤트면 예전 문자열 형식으로 바꾼다
+    public String legacyData() {
+        if (data == null && event != null)
+            data = event.toLegacyData();
+        return data;
+    }
+}
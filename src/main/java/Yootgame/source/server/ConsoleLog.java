@@ -0,0 +1,82 @@
+package Yootgame.source.server;
+
+import javax.swing.JTextArea;
+import javax.swing.Timer;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.Element;
+
+// ConsoleLog.java 서버 화면의 로그 창. 최근 maxLines 줄만 남긴다.
+// log() 는 어느 스레드에서 불러도 되고, 고정 크기 ring buffer 에 넣기만 한다.
+// Swing Timer 가 flushMs 마다 EDT 에서 쌓인 줄을 한 번에 붙이고 오래된 줄을 앞에서 지운다.
+// 그래서 한 줄 남기는 비용과 메모리가 서버를 오래 켜 두어도 늘지 않는다.
+public class ConsoleLog implements ServerLog {
+    private final JTextArea textArea;
+    private final int maxLines;
+    private final String[] ring; // 아직 화면에 붙이지 않은 줄
+    private int head = 0; // 가장 오래된 줄
+    private int count = 0;
+    private long dropped = 0; // 한 번 붙이기 전에 maxLines 를 넘어서 버린 줄
+    private final Timer timer;
+
+    public ConsoleLog(JTextArea textArea, int maxLines, int flushMs) {
+        this.textArea = textArea;
+        this.maxLines = maxLines;
+        this.ring = new String[maxLines];
+        this.timer = new Timer(flushMs, e -> flush());
+        timer.start();
+    }
+
+    @Override
+    public synchronized void log(String line) {
+        int tail = (head + count) % ring.length;
+        ring[tail] = line;
+        if (count == ring.length) { // 가장 오래된 줄을 덮어썼다
+            head = (head + 1) % ring.length;
+            dropped += 1;
+        } else {
+            count += 1;
+        }
+    }
+
+    public void stop() {
+        timer.stop();
+    }
+
+    // EDT 에서
+    private void flush() {
+        StringBuilder sb;
+        synchronized (this) {
+            if (count == 0)
+                return;
+            sb = new StringBuilder();
+            if (dropped > 0)
+                sb.append("... ").append(dropped).append("줄 생략\n");
+            for (int i = 0; i < count; i++) {
+                int idx = (head + i) % ring.length;
+                sb.append(ring[idx]).append('\n');
+                ring[idx] = null;
+            }
+            head = 0;
+            count = 0;
+            dropped = 0;
+        }
+        textArea.append(sb.toString());
+        trim();
+        textArea.setCaretPosition(textArea.getDocument().getLength());
+    }
+
+    // maxLines 를 넘는 앞쪽 줄을 지운다
+    private void trim() {
+        Document doc = textArea.getDocument();
+        Element root = doc.getDefaultRootElement();
+        int excess = root.getElementCount() - maxLines;
+        if (excess <= 0)
+            return;
+        try {
+            doc.remove(0, root.getElement(excess - 1).getEndOffset());
+        } catch (BadLocationException e) {
+            textArea.setText("");
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package Yootgame.source.server;
+
+import Yootgame.source.protocol.BinaryFrameCodec;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+// EncodedMessage.java 보낼 ChatMsg 와 그 메시지를 형식별로 인코딩한 바이트.
+// 방 전체에 보낼 때 메시지마다 하나만 만들고 모든 연결이 같은 바이트를 나눠 쓴다.
+// 형식별 바이트는 처음 필요할 때 만든다. 두 스레드가 동시에 만들어도 결과가 같으므로 lock 은 없다.
+public final class EncodedMessage {
+    private final ChatMsg msg;
+    private volatile byte[] objectStream;
+    private volatile byte[] binary;
+
+    public EncodedMessage(ChatMsg msg) {
+        this.msg = msg;
+    }
+
+    public ChatMsg msg() {
+        return msg;
+    }
+
+    // 보내는 큐가 밀릴 때 버려도 되는 메시지 (채팅, 이미지). 나머지는 게임 상태라 버리면 안 된다
+    public boolean isDroppable() {
+        return msg.code.equals("200") || msg.code.equals("300");
+    }
+
+    // ObjectStream 연결용. 이미지(300)는 예전처럼 보내지 않는다
+    private byte[] objectStreamBytes() {
+        byte[] bytes = objectStream;
+        if (bytes == null) {
+            String data = msg.data != null || msg.event == null ? msg.data : msg.event.toLegacyData();
+            bytes = ObjectStreamEncoder.encode(msg.code, msg.UserName, data);
+            objectStream = bytes;
+        }
+        return bytes;
+    }
+
+    private byte[] binaryBytes() {
+        byte[] bytes = binary;
+        if (bytes == null) {
+            bytes = BinaryFrameCodec.encode(msg.code, msg.UserName, msg.data, msg.imgbytes, msg.event);
+            binary = bytes;
+        }
+        return bytes;
+    }
+
+    // NIO 용. 연결마다 position 이 따로인 읽기 전용 buffer
+    public ByteBuffer objectStreamBuffer() {
+        return ByteBuffer.wrap(objectStreamBytes()).asReadOnlyBuffer();
+    }
+
+    public ByteBuffer binaryBuffer() {
+        return ByteBuffer.wrap(binaryBytes()).asReadOnlyBuffer();
+    }
+
+    public void writeObjectStreamTo(OutputStream out) throws IOException {
+        out.write(objectStreamBytes());
+    }
+
+    public void writeBinaryTo(OutputStream out) throws IOException {
+        out.write(binaryBytes());
+    }
+}
@@ -0,0 +1,117 @@
+package Yootgame.source.server;
+
+import Yootgame.source.game.GameEngine;
+import Yootgame.source.log.Log;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+
+// GameRoom.java 게임 방 하나의 상태.
+// 방마다 참가자 목록, 자리(userIdx) 사용 여부, 턴 정보를 따로 가진다.
+// 게임이 시작되면 말 위치, 윷 결과, 턴 같은 게임 상태는 engine 이 가진다.
+//
+// 방의 상태는 execute() 로 넣은 작업 안에서만 바꾼다. 작업은 방마다 넣은 순서대로 하나씩 돈다(SerialExecutor).
+// 그래서 여러 UserService 가 같은 방의 engine, userConnect 를 동시에 고치지 않는다.
+// 참가자 목록은 바꿀 때마다 새 List 로 바꾸므로, 방송할 때는 lock 없이 getUsers() 를 읽어 돌면 된다.
+//
+// 윷은 방마다 가진 SplittableRandom 으로 던진다. 판마다 seed 를 하나 뽑아 로그에 남기므로
+// 같은 seed 로 GameEngine 을 돌리면 그 판의 윷 결과를 그대로 다시 볼 수 있다.
+public class GameRoom {
+    public static final int MAX_USER = 4; // 방 하나의 최대 인원
+
+    private final int roomId;
+    private final SerialExecutor actor;
+    final Log log; // "server.room.<roomId>". -Dyut.log.server.room.3=DEBUG 처럼 방 하나만 켤 수 있다
+    private volatile List<Object> users = List.of(); // 방에 들어온 사용자. 읽기 전용
+    boolean[] userConnect = new boolean[MAX_USER];
+    GameEngine engine; // 게임 시작 전에는 null
+    private volatile boolean isPlaying = false; // 게임이 시작된 방에는 새 참가자를 넣지 않는다
+    // 마지막으로 클라이언트들에게 보낸 판. [userIdx * 4 + 말 번호] = 칸 번호, 판 밖이면 -1.
+    // 배열 안을 고치지 않고 새 배열로 바꾼다.
+    byte[] boardPositions = emptyBoard();
+    final LongAdder messageCount = new LongAdder(); // 이 방에서 처리한 메시지 수 (ServerMetrics)
+    long turnStartNanos; // 지금 턴이 시작된 때. 턴 시간 지표용
+    private final SplittableRandom seeds; // 판마다 쓸 seed 를 뽑는다
+    long gameSeed; // 지금 판의 seed
+    SplittableRandom roller; // 지금 판의 윷. 방 작업(execute) 안에서만 쓴다
+
+    public GameRoom(int roomId, Executor executor, long seed) {
+        this.roomId = roomId;
+        this.actor = new SerialExecutor(executor);
+        this.log = Log.get("server.room." + roomId);
+        this.seeds = new SplittableRandom(seed);
+    }
+
+    public int getRoomId() {
+        return roomId;
+    }
+
+    // 이 방의 상태를 읽고 바꾸는 작업. 넣은 순서대로 하나씩 실행된다
+    public void execute(Runnable command) {
+        actor.execute(command);
+    }
+
+    // 지금 참가자 목록. 돌려준 List 는 바뀌지 않는다
+    public List<Object> getUsers() {
+        return users;
+    }
+
+    public boolean isFull() {
+        return users.size() >= MAX_USER;
+    }
+
+    // 새 참가자를 받을 수 있는 방인지
+    public boolean isJoinable() {
+        return !isPlaying && !isFull();
+    }
+
+    public boolean isEmpty() {
+        return users.size() == 0;
+    }
+
+    public boolean isPlaying() {
+        return isPlaying;
+    }
+
+    // 받을 수 있으면 참가자를 넣는다. accept 스레드에서 부르므로 start() 와 같은 lock 을 쓴다
+    synchronized boolean add(Object user) {
+        if (!isJoinable())
+            return false;
+        List<Object> next = new ArrayList<>(users);
+        next.add(user);
+        users = List.copyOf(next);
+        return true;
+    }
+
+    synchronized void remove(Object user) {
+        List<Object> next = new ArrayList<>(users);
+        if (next.remove(user))
+            users = List.copyOf(next);
+    }
+
+    // 참가자가 playerCnt 명 그대로면 게임 중으로 바꾼다. 그 사이에 누가 들어왔으면 false
+    synchronized boolean start(int playerCnt) {
+        if (users.size() != playerCnt)
+            return false;
+        isPlaying = true;
+        return true;
+    }
+
+    // 새 판을 시작한다. seed 를 뽑아 윷을 새로 만들고 engine 을 바꾼다
+    void newGame(int playerCnt) {
+        gameSeed = seeds.nextLong();
+        roller = new SplittableRandom(gameSeed);
+        engine = new GameEngine(playerCnt);
+        log.info("game start players={} seed={}", playerCnt, gameSeed);
+    }
+
+    static byte[] emptyBoard() {
+        byte[] board = new byte[MAX_USER * 4];
+        Arrays.fill(board, (byte) -1);
+        return board;
+    }
+}
@@ -0,0 +1,695 @@
+package Yootgame.source.server;
+
+import Yootgame.source.game.GameEngine;
+import Yootgame.source.protocol.GameEvent.BoardDelta;
+import Yootgame.source.protocol.GameEvent.BoardSnapshot;
+import Yootgame.source.protocol.GameEvent.MoveRequest;
+import Yootgame.source.protocol.GameEvent.PendingRolls;
+import Yootgame.source.protocol.GameEvent.RestCounts;
+import Yootgame.source.protocol.GameEvent.RollResult;
+import Yootgame.source.protocol.GameEvent.TurnChange;
+import Yootgame.source.protocol.GameEvent.UserInfo;
+
+import java.io.*;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+// GameServer.java 접속을 받고 방에 배정해서 메시지를 처리하는 서버 본체. 화면(Swing) 없이 돈다.
+// GUI(YutGameServer)와 headless(ServerMain) 모두 이 클래스를 만들어 start() 한다.
+// 로그는 생성자로 받은 ServerLog 로만 남긴다.
+public class GameServer {
+    private static final int BUF_LEN = 128; // Windows 처럼 BUF_LEN 을 정의
+
+    private final ServerConfig config;
+    private final ServerLog log;
+    private ServerSocket socket; // 서버소켓
+    private Socket client_socket; // accept() 에서 생성된 client 소켓
+    // 방 목록. 방마다 참가자/턴을 따로 관리하고, 방의 상태는 그 방의 작업 큐에서만 바꾼다
+    private final RoomManager roomManager;
+    private NioServer nioServer; // config.nio() 일 때만 사용
+    private final ServerMetrics metrics;
+    private final CountDownLatch stopped = new CountDownLatch(1);
+
+    public GameServer(ServerConfig config, ServerLog log) {
+        this.config = config;
+        this.log = log;
+        this.roomManager = new RoomManager(config.maxRooms(), newRoomExecutor(), config.rollSeedOrRandom());
+        this.metrics = new ServerMetrics(roomManager::getRooms, this::outboundQueueDepths);
+    }
+
+    public ServerConfig getConfig() {
+        return config;
+    }
+
+    public ServerMetrics getMetrics() {
+        return metrics;
+    }
+
+    // nio 면 Selector event loop 로, 아니면 접속마다 스레드를 만들어 처리한다
+    public void start() throws IOException {
+        if (config.nio()) {
+            nioServer = new NioServer(config.port(), config.nioLoops(), config.outQueueLen(), metrics, conn -> {
+                UserService new_user = new UserService(conn);
+                return assignRoom(new_user) ? new_user : null;
+            });
+            nioServer.start();
+        } else {
+            socket = new ServerSocket(config.port());
+            AcceptServer accept_server = new AcceptServer();
+            newThreadBuilder().name("accept-server").start(accept_server);
+        }
+        metrics.registerMBean(config.port());
+        if (config.metricsPort() > 0) {
+            metrics.startHttp(config.metricsPort());
+            AppendText("Metrics http://127.0.0.1:" + config.metricsPort() + "/metrics");
+        }
+        AppendText("Chat Server Running.. port " + config.port() + (config.nio() ? " (NIO)" : "")
+                + (config.virtualThreads() ? " (virtual threads)" : ""));
+        AppendText("Roll seed " + roomManager.getRollSeed() + (config.rollSeed() != null ? " (fixed)" : ""));
+    }
+
+    // 새 접속을 더 받지 않는다. 이미 들어온 접속은 그대로 둔다
+    public void stop() {
+        if (nioServer != null)
+            nioServer.stop();
+        if (socket != null) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // 이미 닫힘
+            }
+        }
+        metrics.stop();
+        stopped.countDown();
+    }
+
+    // stop() 이 불릴 때까지 기다린다
+    public void awaitStop() throws InterruptedException {
+        stopped.await();
+    }
+
+    // 받은 메시지 하나를 처리한다. 접속을 끝내야 하면 false
+    @FunctionalInterface
+    private interface MessageHandler {
+        boolean handle(UserService user, ChatMsg cm);
+    }
+
+    // 채팅 명령 (/exit, /list, /to). args[0] 은 "[보낸 사람]", args[1] 은 명령
+    @FunctionalInterface
+    private interface ChatCommand {
+        boolean run(UserService user, String[] args);
+    }
+
+    // opcode(000 ~ 999) -> 처리할 메소드. 메시지마다 배열 하나만 읽는다
+    private static final MessageHandler[] HANDLERS = new MessageHandler[1000];
+    private static final Map<String, ChatCommand> CHAT_COMMANDS = Map.of(
+            "/exit", UserService::cmdExit,
+            "/list", UserService::cmdList,
+            "/to", UserService::cmdTo);
+
+    static {
+        HANDLERS[100] = UserService::onLogin;
+        HANDLERS[103] = UserService::onReady;
+        HANDLERS[104] = UserService::onStart;
+        HANDLERS[200] = UserService::onChat;
+        HANDLERS[300] = UserService::onImage;
+        HANDLERS[400] = UserService::onLogout;
+        HANDLERS[501] = UserService::onRoll;
+        HANDLERS[504] = UserService::onMove;
+        HANDLERS[506] = UserService::onGiveUp;
+        HANDLERS[999] = UserService::onRoomFull;
+    }
+
+    // 세 자리 숫자 code -> opcode. 아니면 -1. 문자열을 만들거나 정규식을 쓰지 않는다
+    static int opcodeOf(String code) {
+        if (code.length() != 3)
+            return -1;
+        int opcode = 0;
+        for (int i = 0; i < 3; i++) {
+            char c = code.charAt(i);
+            if (c < '0' || c > '9')
+                return -1;
+            opcode = opcode * 10 + (c - '0');
+        }
+        return opcode;
+    }
+
+    // virtual thread 모드면 스레드 하나가 수 KB 만 쓰므로 대기실 접속을 수만 개까지 들고 있을 수 있다
+    private Thread.Builder newThreadBuilder() {
+        return config.virtualThreads() ? Thread.ofVirtual() : Thread.ofPlatform();
+    }
+
+    // 방 작업(GameRoom.execute)을 돌리는 스레드
+    private Executor newRoomExecutor() {
+        if (config.virtualThreads())
+            return Executors.newVirtualThreadPerTaskExecutor();
+        return Executors.newCachedThreadPool(Thread.ofPlatform().name("room-worker-", 0).daemon().factory());
+    }
+
+    class AcceptServer implements Runnable {
+        private final Thread.Builder sessionThreads = newThreadBuilder().name("user-service-", 0);
+        private final Thread.Builder writerThreads = newThreadBuilder().name("user-writer-", 0);
+
+        @SuppressWarnings("unchecked")
+        public void run() {
+            while (true) { // 사용자 접속을 계속해서 받기 위해 while문
+                try {
+                    AppendText("Waiting new clients ...");
+                    client_socket = socket.accept(); // accept가 일어나기 전까지는 무한 대기중
+
+                    AppendText("새로운 참가자 from " + client_socket);
+                    // User 당 하나씩 Thread 생성. 첫 바이트(메시지 형식 선택)도 그 스레드에서 읽는다
+                    Socket new_socket = client_socket;
+                    sessionThreads.start(() -> startSession(new_socket));
+                } catch (IOException e) {
+                    if (socket.isClosed()) // stop()
+                        break;
+                    AppendText("accept() error");
+                }
+            }
+        }
+
+        private void startSession(Socket new_socket) {
+            UserService new_user;
+            try {
+                // 보내기는 접속마다 writer 스레드가 따로 한다. 느린 클라이언트가 다른 User 의 스레드를 막지 않는다
+                new_user = new UserService(new QueuedConnection(BlockingConnection.open(new_socket, metrics), config.outQueueLen(), writerThreads));
+            } catch (IOException e) {
+                AppendText("userService error");
+                try {
+                    new_socket.close();
+                } catch (IOException e1) {
+                    // 이미 닫힌 소켓
+                }
+                return;
+            }
+            if (assignRoom(new_user))
+                new_user.run();
+        }
+    }
+
+    // 새 참가자를 자리가 남은 방에 배정한다. 없으면 새 방. 더 이상 방을 만들 수 없으면 999 를 보내고 false
+    private boolean assignRoom(UserService new_user) {
+        GameRoom room = roomManager.enter(new_user);
+        if (room == null) {
+            AppendText("모든 방이 가득 찼습니다.");
+            new_user.WriteChatMsg(new ChatMsg("SERVER", "999", "Room is full"));
+            new_user.close();
+            return false;
+        }
+        new_user.joinRoom(room);
+        AppendText("[방 " + room.getRoomId() + "] 현재 참가자 수 " + room.getUsers().size()
+                + " (방 " + roomManager.getRoomCount() + "개)");
+        return true;
+    }
+
+    // 접속마다 보내는 큐에 쌓인 메시지 수 (ServerMetrics). 접속 수는 getCount()
+    private IntSummaryStatistics outboundQueueDepths() {
+        IntSummaryStatistics depths = new IntSummaryStatistics();
+        for (GameRoom room : roomManager.getRooms()) {
+            for (Object o : room.getUsers()) {
+                ChatConnection c = ((UserService) o).conn;
+                if (c != null)
+                    depths.accept(c.pendingWrites());
+            }
+        }
+        return depths;
+    }
+
+    public void AppendText(String str) {
+        log.log(str);
+    }
+
+    // User 당 생성되는 Thread
+    // Read One 에서 대기 -> Write All
+    class UserService implements Runnable, NioServer.Handler {
+        private ChatConnection conn; // 블로킹(BlockingConnection) 또는 NIO 연결
+        private GameRoom room; // 이 사용자가 들어간 방
+        public String UserName = "";
+        public String imagepath = "";
+        public int userIdx = -1;
+        public boolean isOwner = false;
+        public boolean isReady = false;
+        private boolean isLogout = false;
+
+        public UserService(ChatConnection conn) {
+            // 매개변수로 넘어온 자료 저장
+            this.conn = conn;
+        }
+
+        public void joinRoom(GameRoom room) {
+            this.room = room;
+        }
+
+        public void close() {
+            ChatConnection c = conn;
+            conn = null;
+            if (c != null)
+                c.close();
+        }
+
+        public void Login() {
+            int index = 0;
+            while (index < 4) {
+                if (!room.userConnect[index])
+                    break;
+                index += 1;
+            }
+            room.log.debug("login {} seat {}", UserName, index);
+            if (index != 4) {
+                if (room.getUsers().size() == 1)
+                    this.isOwner = true;
+                room.userConnect[index] = true;
+                userIdx = index;
+                AppendText("[방 " + room.getRoomId() + "] 새로운 참가자 " + UserName + " 입장.");
+                WriteOne(UserName + "님 환영합니다!\n"); // 연결된 사용자에게 정상접속을 알림
+                SendUserIdx();
+                String msg = "[" + UserName + "]님이 입장 하였습니다.\n";
+                WriteOthers(msg);
+                SendUserInfo();
+                SendBoard();
+            }
+        }
+
+        public void Logout() {
+            if (room == null || isLogout) // 방 배정 전 (방이 가득 차 거절된 접속) 이거나 이미 퇴장
+                return;
+            isLogout = true;
+            String msg = "[" + UserName + "]님이 퇴장 하였습니다.\n";
+            if (this.userIdx != -1)
+                room.userConnect[this.userIdx] = false;
+            boolean isLogoutUserHaveOwner = this.isOwner;
+            roomManager.leave(room, this); // Logout한 현재 객체를 방에서 지운다. 빈 방은 없어진다
+            WriteAll(msg); // 나를 제외한 다른 User들에게 전송
+            if (this.userIdx != -1) // 게임 중에 나가면 기권한 것으로 본다
+                GiveUp();
+            List<Object> users = room.getUsers();
+            AppendText("[방 " + room.getRoomId() + "] 사용자 " + "[" + UserName + "] 퇴장. 현재 참가자 수 " + users.size());
+            if (users.size() != 0 && isLogoutUserHaveOwner) {
+                UserService user = (UserService) users.get(0);
+                user.isOwner = true;
+            }
+            SendUserInfo();
+            close();
+        }
+
+        // 모든 User들에게 방송.
+        public void WriteAll(String str) {
+            WriteAllObject(new ChatMsg("SERVER", "200", str));
+        }
+
+        // 모든 User들에게 Object를 방송. 채팅 message와 image object를 보낼 수 있다
+        // 메시지는 한 번만 인코딩하고 같은 바이트를 모든 User에게 보낸다
+        public void WriteAllObject(ChatMsg obj) {
+            EncodedMessage encoded = new EncodedMessage(obj);
+            for (Object o : room.getUsers())
+                ((UserService) o).WriteEncoded(encoded);
+        }
+
+        // 나를 제외한 User들에게 방송.
+        public void WriteOthers(String str) {
+            EncodedMessage encoded = new EncodedMessage(new ChatMsg("SERVER", "200", str));
+            for (Object o : room.getUsers()) {
+                if (o != this)
+                    ((UserService) o).WriteEncoded(encoded);
+            }
+        }
+
+        // Windows 처럼 message 제외한 나머지 부분은 NULL 로 만들기 위한 함수
+        public byte[] MakePacket(String msg) {
+            byte[] packet = new byte[BUF_LEN];
+            byte[] bb = null;
+            int i;
+            for (i = 0; i < BUF_LEN; i++)
+                packet[i] = 0;
+            try {
+                bb = msg.getBytes("euc-kr");
+            } catch (UnsupportedEncodingException e) {
+                // TODO Auto-generated catch block
+                e.printStackTrace();
+            }
+            for (i = 0; i < bb.length; i++)
+                packet[i] = bb[i];
+            return packet;
+        }
+
+        public void SendUserIdx() {
+            ChatMsg obcm = new ChatMsg("SERVER", "101", Integer.toString(userIdx));
+            WriteChatMsg(obcm);
+        }
+
+        public void SendUserInfo() {
+            List<Object> users = room.getUsers();
+            room.log.debug("SendUserInfo {}", users.size());
+            List<UserInfo.Entry> entries = new ArrayList<>(users.size());
+            for (Object o : users) {
+                UserService user = (UserService) o;
+                entries.add(new UserInfo.Entry(user.userIdx, user.UserName, user.isOwner, user.isReady));
+            }
+
+            WriteAllObject(new ChatMsg("SERVER", "102", new UserInfo(entries)));
+        }
+
+        // UserService Thread가 담당하는 Client 에게 1:1 전송
+        public void WriteOne(String msg) {
+            ChatMsg obcm = new ChatMsg("SERVER", "200", msg);
+            room.log.debug("WriteOne {}", msg);
+            WriteChatMsg(obcm);
+        }
+
+        // 귓속말 전송
+        public void WritePrivate(String msg) {
+            ChatMsg obcm = new ChatMsg("귓속말", "200", msg);
+            WriteChatMsg(obcm);
+        }
+
+        //
+        public void WriteChatMsg(ChatMsg obj) {
+            WriteEncoded(new EncodedMessage(obj));
+        }
+
+        // 인코딩해 둔 메시지를 보낸다. 방송할 때 여러 User가 같은 EncodedMessage 를 쓴다
+        public void WriteEncoded(EncodedMessage obj) {
+            ChatConnection c = conn;
+            if (c == null)
+                return;
+            try {
+                c.write(obj); // 큐에 넣기만 한다
+            } catch (IOException e) {
+                // 다른 User 의 스레드에서 불렸을 수 있다. 연결만 닫고 Logout 은 이 User 의 스레드가 한다
+                AppendText("oos.writeObject(ob) error");
+                close();
+            }
+        }
+
+        public ChatMsg ReadChatMsg() {
+            if (!(conn instanceof BlockingConnection stream))
+                return null;
+            try {
+                return stream.read();
+            } catch (IOException e) {
+                if (room != null)
+                    room.log.debug("read end {}: {}", UserName, e);
+                return null;
+            }
+        }
+
+        // 블로킹 모드: 이 스레드가 소켓에서 직접 읽고, 처리는 방의 작업 큐에 넘긴다
+        public void run() {
+            while (true) { // 사용자 접속을 계속해서 받기 위해 while문
+                ChatMsg cm = null;
+                if (conn == null)
+                    break;
+                cm = ReadChatMsg();
+                if (cm == null)
+                    break;
+                onMessage(cm);
+            } // while
+            onDisconnect(); // 읽기가 끝났거나 다른 스레드가 연결을 닫은 경우
+        } // run
+
+        // NIO 모드: NioServer 가 디코딩한 메시지를 순서대로 넘겨준다
+        @Override
+        public void onMessage(ChatMsg cm) {
+            room.execute(() -> {
+                if (conn == null)
+                    return;
+                long start = System.nanoTime();
+                boolean keep = process(cm);
+                metrics.recordMessage(room, cm.code, System.nanoTime() - start);
+                if (!keep)
+                    close();
+            });
+        }
+
+        @Override
+        public void onDisconnect() {
+            room.execute(this::Logout);
+        }
+
+        // 메시지 하나를 code 에 따라 처리한다. 접속을 끝내야 하면 false
+        private boolean process(ChatMsg cm) {
+            if (cm.code.length() == 0)
+                return false;
+            if (room.log.isDebugEnabled()) // 메시지마다 남기므로 꺼져 있으면 문자열도 만들지 않는다
+                room.log.debug("recv {} {} {}", cm.code, cm.UserName, cm.event != null ? cm.event : cm.data);
+            int opcode = opcodeOf(cm.code);
+            MessageHandler handler = opcode == -1 ? null : HANDLERS[opcode];
+            if (handler == null) // 모르는 code 는 무시한다
+                return true;
+            return handler.handle(this, cm);
+        }
+
+        private boolean onLogin(ChatMsg cm) {
+            UserName = cm.UserName;
+            Login();
+            return true;
+        }
+
+        private boolean onReady(ChatMsg cm) {
+            this.isReady = !this.isReady;
+            SendUserInfo();
+            return true;
+        }
+
+        private boolean onStart(ChatMsg cm) {
+            List<Object> users = room.getUsers();
+            int readyCnt = 0;
+            for (Object o : users) {
+                UserService user = (UserService) o;
+                if (!user.isOwner && user.isReady)
+                    readyCnt += 1;
+            }
+            ChatMsg obcm = null;
+            boolean isStarted = false;
+            if (users.size() == 1) {
+                obcm = new ChatMsg("SERVER", "105", "false NoUser");
+            } else if (readyCnt == users.size() - 1 && room.start(users.size())) {
+                // 게임 중인 방에는 새 참가자를 배정하지 않는다
+                obcm = new ChatMsg("SERVER", "105", "true");
+                room.newGame(users.size());
+                room.turnStartNanos = System.nanoTime();
+                isStarted = true;
+            } else {
+                obcm = new ChatMsg("SERVER", "105", "false NoReady");
+            }
+
+            // 유저에 따라 다 보내줘야함.
+            WriteAllObject(obcm);
+
+            if (isStarted) {
+                obcm = new ChatMsg("SERVER", "504", new BoardSnapshot(room.boardPositions)); // 시작할 때 판을 맞춘다
+                WriteAllObject(obcm);
+                obcm = new ChatMsg("SERVER", "500", new TurnChange(cm.UserName, room.engine.getTurnCount()));
+                WriteAllObject(obcm);
+            }
+            return true;
+        }
+
+        private boolean onChat(ChatMsg cm) {
+            String msg = String.format("[%s] %s", cm.UserName, cm.data);
+            AppendText(msg); // server 화면에 출력
+            String[] args = msg.split(" "); // 단어들을 분리한다.
+            if (args.length == 1) // Enter key 만 들어온 경우 Wakeup 처리만 한다.
+                return true;
+            ChatCommand command = CHAT_COMMANDS.get(args[1]);
+            if (command != null)
+                return command.run(this, args);
+            // 일반 채팅 메시지
+            WriteAllObject(cm);
+            return true;
+        }
+
+        private boolean cmdExit(String[] args) {
+            Logout();
+            return false;
+        }
+
+        private boolean cmdList(String[] args) {
+            WriteOne("User list\n");
+            WriteOne("Name\tStatus\n");
+            WriteOne("-----------------------------\n");
+            for (Object o : room.getUsers()) {
+                UserService user = (UserService) o;
+                WriteOne(user.UserName + "\n");
+            }
+            WriteOne("-----------------------------\n");
+            return true;
+        }
+
+        // 귓속말. [user1] /to user2 Hello -> user2 에게 "[user1] Hello"
+        private boolean cmdTo(String[] args) {
+            if (args.length < 3)
+                return true;
+            for (Object o : room.getUsers()) {
+                UserService user = (UserService) o;
+                if (user.UserName.equals(args[2])) {
+                    // 실제 message 부분
+                    String msg2 = String.join(" ", Arrays.asList(args).subList(3, args.length));
+                    // /to 빼고.. [귓속말] [user1] Hello user2..
+                    user.WritePrivate(args[0] + " " + msg2 + "\n");
+                    break;
+                }
+            }
+            return true;
+        }
+
+        private boolean onLogout(ChatMsg cm) { // logout message 처리
+            Logout();
+            return false;
+        }
+
+        private boolean onImage(ChatMsg cm) {
+            WriteAllObject(cm);
+            return true;
+        }
+
+        private boolean onRoll(ChatMsg cm) {
+            GameEngine engine = room.engine;
+            if (engine == null)
+                return true;
+            if (userIdx != engine.currentSeat()) { // 차례가 아닌 사용자의 윷은 버린다
+                room.log.warn("roll out of turn {}", UserName);
+                return true;
+            }
+            GameEngine.Roll roll = engine.roll(room.roller);
+
+            room.log.debug("roll {} -> {}", UserName, roll.value());
+            ChatMsg obcm = new ChatMsg("SERVER", "501", new RollResult(roll.sticks(), roll.value()));
+            WriteAllObject(obcm);
+
+            if (roll.isAgain()) {
+                WriteAllObject(new ChatMsg("SERVER", "502", "roll again"));
+            } else {
+                WriteAllObject(new ChatMsg("SERVER", "503", new PendingRolls(engine.pendingRolls())));
+            }
+            return true;
+        }
+
+        private boolean onMove(ChatMsg cm) {
+            GameEngine engine = room.engine;
+            if (engine == null || !(cm.event instanceof MoveRequest req))
+                return true;
+            room.log.debug("move {} {}", UserName, req);
+            GameEngine.Move move = new GameEngine.Move(req.objectIdx(), req.rollIdx(), req.arrowPos());
+            if (!engine.isLegal(userIdx, move)) { // 차례가 아니거나 둘 수 없는 수
+                room.log.warn("illegal move {} {}", UserName, move);
+                return true;
+            }
+
+            // 움직인 말 처리
+            GameEngine.MoveResult result = engine.apply(userIdx, move);
+            sendObjectInfo(userIdx * 4 + result.piece(), result.path());
+            if (result.arrived()) {
+                // 도착 후 추가 이동 없이 턴 변경
+                SendTurn();
+                return true;
+            }
+            if (result.captured())
+                room.log.debug("capture by {}", UserName);
+
+            WriteAllObject(new ChatMsg("SERVER", "505", new RestCounts(engine.restCounts())));
+
+            if (result.captured()) {
+                WriteAllObject(new ChatMsg("SERVER", "502", "roll again"));
+            } else if (!result.turnChanged()) {
+                WriteAllObject(new ChatMsg("SERVER", "503", new PendingRolls(engine.pendingRolls())));
+            } else {
+                SendTurn();
+            }
+            return true;
+        }
+
+        private boolean onGiveUp(ChatMsg cm) {
+            GameEngine engine = room.engine;
+            if (engine == null)
+                return true;
+            AppendText(UserName+"이 기권하였습니다.");
+            GiveUp();
+            return true;
+        }
+
+        // 기권 (506) 이나 게임 중 퇴장. 말을 내리고, 한 명만 남으면 게임 끝 (507), 아니면 내 차례였을 때 턴을 넘긴다
+        private void GiveUp() {
+            GameEngine engine = room.engine;
+            if (engine == null || engine.isGiveUp(userIdx)) // 기권한 뒤에 나가는 경우
+                return;
+            boolean wasTurn = userIdx == engine.currentSeat();
+            boolean isGameOver = engine.giveUp(userIdx);
+
+            sendObjectInfo();
+
+            //TODO 게임 리셋해야함
+            if (isGameOver) {
+                int winner = engine.winner();
+                for (Object o : room.getUsers()) {
+                    UserService user = (UserService) o;
+                    if (user.userIdx == winner) {
+                        room.log.info("winner {} {}", user.userIdx, user.UserName);
+                        game_over("win", user);
+                    }
+                    else game_over("lose", user);
+                }
+            } else if (wasTurn) {
+                SendTurn();
+            }
+        }
+
+        private boolean onRoomFull(ChatMsg cm) { // 방 가득 참 처리
+            AppendText("방이 가득 찼습니다.");
+            close();
+            return false;
+        }
+
+        public void game_over(String msg, UserService user) {
+            ChatMsg obcm = new ChatMsg("SERVER", "507", msg);
+            user.WriteChatMsg(obcm);
+
+        }
+
+        // 차례가 된 사용자를 모두에게 알린다 (500)
+        private void SendTurn() {
+            long now = System.nanoTime();
+            metrics.recordTurn(now - room.turnStartNanos);
+            room.turnStartNanos = now;
+            int turn = room.engine.currentSeat();
+            String nextUserName = "";
+            for (Object o : room.getUsers()) {
+                UserService user = (UserService) o;
+                if (user.userIdx == turn) {
+                    nextUserName = user.UserName;
+                    break;
+                }
+            }
+            // true 추가하여 턴 변경 메시지 전송
+            WriteAllObject(new ChatMsg("SERVER", "500", new TurnChange(nextUserName, turn)));
+        }
+
+        // 이 사용자에게 판 전체를 보낸다 (입장 시)
+        public void SendBoard() {
+            WriteChatMsg(new ChatMsg("SERVER", "504", new BoardSnapshot(room.boardPositions)));
+        }
+
+        public void sendObjectInfo() {
+            sendObjectInfo(-1, new byte[0]);
+        }
+
+        // 직전에 보낸 판과 비교해 바뀐 말만 보낸다. moveSlot 말을 옮긴 것이면 지나간 칸(path)도 같이 보낸다
+        public void sendObjectInfo(int moveSlot, byte[] path) {
+            if (room.engine == null)
+                return;
+            // positions[userIdx * 4 + 말 번호] = 칸 번호. 판 밖(대기, 업힘, 도착)은 -1
+            byte[] positions = room.engine.board();
+            BoardDelta delta = BoardDelta.diff(room.boardPositions, positions, moveSlot, path);
+            if (delta == null)
+                return;
+            room.boardPositions = positions;
+            WriteAllObject(new ChatMsg("SERVER", "504", delta));
+        }
+    }
+}
\ No newline at end of file
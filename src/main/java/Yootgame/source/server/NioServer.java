@@ -0,0 +1,388 @@
+package Yootgame.source.server;
+
+import Yootgame.source.log.Log;
+import Yootgame.source.protocol.BinaryFrameCodec;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+// NioServer.java Selector 기반 서버.
+// 접속마다 스레드를 두지 않고, 적은 수의 event loop 스레드가 모든 소켓을 나눠서 읽고 쓴다.
+// 디코딩한 ChatMsg 는 접속별로 순서를 지켜 Handler.onMessage() 로 넘긴다.
+// 보낼 메시지는 접속마다 길이 한도가 있는 OutboundQueue 에 쌓고 event loop 가 소켓이 받는 만큼 보낸다.
+// 메시지 형식(ObjectStream / binary)은 클라이언트가 처음 보낸 바이트로 접속마다 고른다.
+public class NioServer {
+    private static final int READ_BUF_LEN = 8 * 1024;
+    private static final int MAX_READ_BUF_LEN = 16 * 1024 * 1024; // 이미지(300) 한 장까지
+    private static final int MAX_GATHER = 16; // write 한 번에 모아 보내는 메시지 수
+    private static final Log LOG = Log.get("server.nio");
+
+    // 접속 하나의 메시지를 처리하는 쪽 (UserService)
+    public interface Handler {
+        void onMessage(ChatMsg cm);
+
+        void onDisconnect();
+    }
+
+    private final int port;
+    private final int outQueueLen;
+    private final ServerMetrics metrics;
+    private final EventLoop[] loops;
+    private final Function<ChatConnection, Handler> handlerFactory;
+    // 핸들러는 event loop 밖에서 돈다. 접속마다 SerialExecutor 로 순서를 지킨다.
+    private final ExecutorService dispatchPool;
+    private final AtomicInteger nextLoop = new AtomicInteger();
+    private ServerSocketChannel serverChannel;
+
+    // handlerFactory 가 null 을 돌려주면 그 접속은 (보낼 것을 다 보낸 뒤) 닫는다
+    // outQueueLen: 접속 하나에 쌓아 둘 수 있는 보낼 메시지 수 (OutboundQueue)
+    // metrics: 주고받은 바이트를 센다
+    public NioServer(int port, int loopCount, int outQueueLen, ServerMetrics metrics,
+            Function<ChatConnection, Handler> handlerFactory) {
+        this.port = port;
+        this.outQueueLen = outQueueLen;
+        this.metrics = metrics;
+        this.handlerFactory = handlerFactory;
+        this.loops = new EventLoop[loopCount];
+        AtomicInteger threadCnt = new AtomicInteger();
+        this.dispatchPool = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "nio-dispatch-" + threadCnt.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public void start() throws IOException {
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port));
+        for (int i = 0; i < loops.length; i++) {
+            loops[i] = new EventLoop();
+            Thread t = new Thread(loops[i], "nio-loop-" + i);
+            t.setDaemon(true);
+            t.start();
+        }
+        Thread acceptThread = new Thread(this::acceptLoop, "nio-accept");
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+    }
+
+    public void stop() {
+        try {
+            serverChannel.close();
+        } catch (IOException e) {
+            // 이미 닫힘
+        }
+        for (EventLoop loop : loops)
+            loop.selector.wakeup();
+        dispatchPool.shutdown();
+    }
+
+    private void acceptLoop() {
+        while (serverChannel.isOpen()) {
+            try {
+                SocketChannel channel = serverChannel.accept();
+                channel.configureBlocking(false);
+                channel.socket().setTcpNoDelay(true);
+                EventLoop loop = loops[Math.floorMod(nextLoop.getAndIncrement(), loops.length)];
+                NioConnection conn = new NioConnection(channel, loop);
+                loop.execute(conn::register); // handler 는 형식이 정해진 뒤에 만든다
+            } catch (IOException e) {
+                if (!serverChannel.isOpen())
+                    break;
+            }
+        }
+    }
+
+    // 접속 하나의 인코딩/디코딩. 형식마다 하나씩
+    private interface MessageCodec {
+        // 처음 보낼 바이트 (ObjectOutputStream 의 stream header)
+        byte[] header();
+
+        // 아직 메시지 하나가 다 안 들어왔으면 null
+        ChatMsg decode(ByteBuffer buf) throws IOException;
+
+        // 인코딩은 접속 상태와 관계없다. 같은 메시지를 받는 접속들이 바이트를 나눠 쓴다
+        ByteBuffer encode(EncodedMessage msg);
+    }
+
+    private static final class ObjectStreamCodec implements MessageCodec {
+        private final ObjectStreamDecoder decoder = new ObjectStreamDecoder();
+
+        @Override
+        public byte[] header() {
+            return ObjectStreamEncoder.HEADER;
+        }
+
+        @Override
+        public ChatMsg decode(ByteBuffer buf) throws IOException {
+            ChatMsg cm = decoder.decode(buf);
+            if (cm != null)
+                cm.event = ObjectStreamConnection.parseEvent(cm);
+            return cm;
+        }
+
+        @Override
+        public ByteBuffer encode(EncodedMessage msg) {
+            return msg.objectStreamBuffer();
+        }
+    }
+
+    private static final class BinaryCodec implements MessageCodec {
+        private boolean handshakeRead = false;
+
+        @Override
+        public byte[] header() {
+            return new byte[0];
+        }
+
+        @Override
+        public ChatMsg decode(ByteBuffer buf) throws IOException {
+            if (!handshakeRead) {
+                if (buf.remaining() < BinaryFrameCodec.HANDSHAKE.length)
+                    return null;
+                for (byte b : BinaryFrameCodec.HANDSHAKE) {
+                    if (buf.get() != b)
+                        throw new StreamCorruptedException("unsupported wire version");
+                }
+                handshakeRead = true;
+            }
+            BinaryFrameCodec.Frame frame = BinaryFrameCodec.decode(buf);
+            if (frame == null)
+                return null;
+            ChatMsg cm = new ChatMsg(frame.userName(), frame.code(), frame.data());
+            cm.imgbytes = frame.imgbytes();
+            cm.event = frame.event();
+            return cm;
+        }
+
+        @Override
+        public ByteBuffer encode(EncodedMessage msg) {
+            return msg.binaryBuffer();
+        }
+    }
+
+    private static final class EventLoop implements Runnable {
+        final Selector selector;
+        final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+        EventLoop() throws IOException {
+            selector = Selector.open();
+        }
+
+        // 다른 스레드에서 selector 에 손대야 할 일은 loop 스레드로 넘긴다
+        void execute(Runnable task) {
+            tasks.add(task);
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (selector.isOpen()) {
+                    selector.select();
+                    Runnable task;
+                    while ((task = tasks.poll()) != null)
+                        task.run();
+                    Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                    while (it.hasNext()) {
+                        SelectionKey key = it.next();
+                        it.remove();
+                        NioConnection conn = (NioConnection) key.attachment();
+                        if (key.isValid() && key.isReadable())
+                            conn.onReadable();
+                        if (key.isValid() && key.isWritable())
+                            conn.onWritable();
+                    }
+                }
+            } catch (IOException | ClosedSelectorException e) {
+                LOG.error("event loop stopped", e);
+            }
+        }
+    }
+
+    private final class NioConnection implements ChatConnection {
+        private final SocketChannel channel;
+        private final EventLoop loop;
+        private final OutboundQueue outbound;
+        private final ArrayDeque<ByteBuffer> sending = new ArrayDeque<>(); // 큐에서 꺼내 보내는 중. loop 스레드만 쓴다
+        private final SerialExecutor dispatcher = new SerialExecutor(dispatchPool);
+        private volatile MessageCodec codec; // 첫 바이트가 들어오면 정해진다
+        private ByteBuffer readBuf = ByteBuffer.allocate(READ_BUF_LEN);
+        private SelectionKey key;
+        volatile Handler handler;
+        private volatile boolean closing = false; // 남은 것을 다 보내면 닫는다
+        private boolean closed = false;
+
+        NioConnection(SocketChannel channel, EventLoop loop) {
+            this.channel = channel;
+            this.loop = loop;
+            this.outbound = new OutboundQueue(outQueueLen);
+        }
+
+        // loop 스레드에서
+        void register() {
+            try {
+                key = channel.register(loop.selector, SelectionKey.OP_READ, this);
+            } catch (IOException e) {
+                closeNow();
+            }
+        }
+
+        // 첫 바이트로 형식을 고르고 handler 를 만든다. loop 스레드에서
+        private void selectCodec(byte first) {
+            MessageCodec c = BinaryFrameCodec.isHandshake(first) ? new BinaryCodec() : new ObjectStreamCodec();
+            byte[] header = c.header(); // ObjectStream 이면 stream header 가 첫 번째로 나간다
+            if (header.length > 0) {
+                sending.add(ByteBuffer.wrap(header).asReadOnlyBuffer());
+                enableWrite();
+            }
+            codec = c;
+            dispatcher.execute(() -> {
+                handler = handlerFactory.apply(this);
+                if (handler == null)
+                    close();
+            });
+        }
+
+        @Override
+        public void write(EncodedMessage msg) throws IOException {
+            if (closing)
+                throw new IOException("connection closed");
+            if (!outbound.offer(msg)) { // 게임 상태가 밀렸다. 끊고 다시 접속하게 한다
+                loop.execute(this::closeNow);
+                throw new IOException("outbound queue full");
+            }
+            loop.execute(this::enableWrite);
+        }
+
+        @Override
+        public int pendingWrites() {
+            return outbound.size();
+        }
+
+        @Override
+        public void close() {
+            closing = true;
+            loop.execute(this::enableWrite); // 큐가 비면 onWritable 에서 닫힌다
+        }
+
+        private void enableWrite() {
+            if (key != null && key.isValid())
+                key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+        }
+
+        void onReadable() {
+            int n;
+            try {
+                n = channel.read(readBuf);
+            } catch (IOException e) {
+                n = -1;
+            }
+            if (n < 0) {
+                closeNow();
+                return;
+            }
+            metrics.addBytesIn(n);
+            readBuf.flip();
+            try {
+                if (codec == null && readBuf.hasRemaining())
+                    selectCodec(readBuf.get(readBuf.position()));
+                ChatMsg cm;
+                while (codec != null && (cm = codec.decode(readBuf)) != null) {
+                    ChatMsg msg = cm;
+                    dispatcher.execute(() -> {
+                        Handler h = handler;
+                        if (h != null)
+                            h.onMessage(msg);
+                    });
+                }
+            } catch (IOException e) {
+                LOG.warn("bad message from " + this, e);
+                closeNow();
+                return;
+            }
+            readBuf.compact();
+            if (!readBuf.hasRemaining()) { // 메시지 하나가 버퍼보다 크다
+                if (readBuf.capacity() >= MAX_READ_BUF_LEN) {
+                    closeNow();
+                    return;
+                }
+                ByteBuffer bigger = ByteBuffer.allocate(readBuf.capacity() * 2);
+                readBuf.flip();
+                bigger.put(readBuf);
+                readBuf = bigger;
+            }
+        }
+
+        // 큐에 쌓인 메시지를 MAX_GATHER 개씩 모아 write 한 번(gathering write)으로 보낸다
+        void onWritable() {
+            try {
+                ByteBuffer[] gather = new ByteBuffer[MAX_GATHER];
+                while (true) {
+                    EncodedMessage msg;
+                    while (sending.size() < MAX_GATHER && (msg = outbound.poll()) != null)
+                        sending.add(codec.encode(msg));
+                    if (sending.isEmpty())
+                        break;
+                    int n = 0;
+                    for (ByteBuffer buf : sending)
+                        gather[n++] = buf;
+                    metrics.addBytesOut(channel.write(gather, 0, n));
+                    while (!sending.isEmpty() && !sending.peek().hasRemaining())
+                        sending.poll();
+                    if (!sending.isEmpty())
+                        return; // 소켓 버퍼가 찼다. 다음 OP_WRITE 를 기다린다
+                }
+                key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+                if (closing)
+                    closeNow();
+            } catch (IOException e) {
+                closeNow();
+            }
+        }
+
+        private void closeNow() {
+            if (closed)
+                return;
+            closed = true;
+            closing = true;
+            outbound.close();
+            if (key != null)
+                key.cancel();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // 이미 닫힘
+            }
+            dispatcher.execute(() -> {
+                Handler h = handler;
+                if (h != null)
+                    h.onDisconnect();
+            });
+        }
+
+        @Override
+        public String toString() {
+            try {
+                return String.valueOf(channel.getRemoteAddress());
+            } catch (IOException e) {
+                return "closed";
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package Yootgame.source.server;
+
+import Yootgame.source.protocol.GameEvent;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.net.Socket;
+import java.util.concurrent.locks.ReentrantLock;
+
+// ObjectStreamConnection.java 소켓 하나를 스레드 하나가 블로킹으로 읽고 쓰는 연결.
+// Android와 호환성을 위해 code, UserName, data 를 각각 따로 writeObject 한 형식으로 주고받는다.
+// 보낼 때는 ObjectOutputStream 대신 EncodedMessage 가 만들어 둔 바이트를 그대로 쓴다.
+public class ObjectStreamConnection implements BlockingConnection {
+    private Socket socket;
+    private ObjectInputStream ois;
+    private OutputStream out;
+    // synchronized 안에서 소켓에 쓰면 virtual thread 가 carrier 스레드에 묶이므로 lock 을 쓴다
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public ObjectStreamConnection(Socket socket, InputStream in, OutputStream out) throws IOException {
+        this.socket = socket;
+        this.out = out;
+        out.write(ObjectStreamEncoder.HEADER);
+        out.flush();
+        ois = new ObjectInputStream(in);
+    }
+
+    @Override
+    public ChatMsg read() throws IOException {
+        ChatMsg cm = new ChatMsg("", "", "");
+        try {
+            cm.code = (String) ois.readObject();
+            cm.UserName = (String) ois.readObject();
+            cm.data = (String) ois.readObject();
+            if (cm.code.equals("300"))
+                cm.imgbytes = (byte[]) ois.readObject();
+            cm.event = parseEvent(cm);
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new StreamCorruptedException(e.toString());
+        }
+        return cm;
+    }
+
+    // 예전 클라이언트가 문자열로 보낸 게임 메시지를 이벤트로 바꾼다. NioServer 도 같이 쓴다
+    static GameEvent parseEvent(ChatMsg cm) throws StreamCorruptedException {
+        try {
+            return GameEvent.parseFromClient(cm.code, cm.data);
+        } catch (RuntimeException e) {
+            throw new StreamCorruptedException("bad " + cm.code + " data: " + cm.data);
+        }
+    }
+
+    @Override
+    public void write(EncodedMessage msg) throws IOException {
+        writeLock.lock();
+        try {
+            msg.writeObjectStreamTo(out);
+            out.flush();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            ois.close();
+            out.close();
+            socket.close();
+        } catch (IOException e) {
+            // 이미 닫힌 소켓
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(socket);
+    }
+}
@@ -0,0 +1,159 @@
+package Yootgame.source.server;
+
+import java.io.StreamCorruptedException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+// ObjectStreamDecoder.java 클라이언트의 ObjectOutputStream 이 보낸 바이트를 블로킹 없이 ChatMsg 로 푼다.
+// 클라이언트는 String 3개 (300 이면 byte[] 하나 더) 만 writeObject 하므로
+// 직렬화 형식 중 그 부분(String, 참조, byte[], reset)만 읽는다.
+// NIO 로 받은 바이트가 메시지 중간에서 끊겨 있으면 null 을 돌려주고 다음 read 를 기다린다.
+public class ObjectStreamDecoder {
+    private static final short STREAM_MAGIC = (short) 0xaced;
+    private static final short STREAM_VERSION = 5;
+    private static final byte TC_NULL = 0x70;
+    private static final byte TC_REFERENCE = 0x71;
+    private static final byte TC_CLASSDESC = 0x72;
+    private static final byte TC_STRING = 0x74;
+    private static final byte TC_ARRAY = 0x75;
+    private static final byte TC_ENDBLOCKDATA = 0x78;
+    private static final byte TC_RESET = 0x79;
+    private static final byte TC_LONGSTRING = 0x7C;
+    private static final int BASE_WIRE_HANDLE = 0x7e0000;
+
+    private boolean headerRead = false;
+    private List<Object> handles = new ArrayList<>(); // 상대편 스트림의 handle 번호 -> 객체
+
+    // buf 의 position 부터 메시지 하나를 읽는다. 아직 다 안 들어왔으면 position 을 되돌리고 null
+    public ChatMsg decode(ByteBuffer buf) throws StreamCorruptedException {
+        int start = buf.position();
+        boolean savedHeaderRead = headerRead;
+        List<Object> savedHandles = handles;
+        int savedHandleCnt = handles.size();
+        try {
+            if (!headerRead) {
+                if (buf.getShort() != STREAM_MAGIC || buf.getShort() != STREAM_VERSION)
+                    throw new StreamCorruptedException("invalid stream header");
+                headerRead = true;
+            }
+            ChatMsg cm = new ChatMsg("", "", "");
+            cm.code = (String) readObject(buf);
+            cm.UserName = (String) readObject(buf);
+            cm.data = (String) readObject(buf);
+            if ("300".equals(cm.code))
+                cm.imgbytes = (byte[]) readObject(buf);
+            return cm;
+        } catch (ClassCastException e) {
+            throw new StreamCorruptedException("unexpected object type");
+        } catch (BufferUnderflowException e) {
+            // 메시지가 아직 다 오지 않았다. 읽기 전 상태로 되돌린다.
+            buf.position(start);
+            headerRead = savedHeaderRead;
+            handles = savedHandles;
+            while (handles.size() > savedHandleCnt)
+                handles.remove(handles.size() - 1);
+            return null;
+        }
+    }
+
+    private Object readObject(ByteBuffer buf) throws StreamCorruptedException {
+        byte tc = buf.get();
+        while (tc == TC_RESET) {
+            handles = new ArrayList<>(); // 되돌릴 수 있도록 clear 대신 새 목록
+            tc = buf.get();
+        }
+        switch (tc) {
+            case TC_NULL:
+                return null;
+            case TC_REFERENCE:
+                return lookupHandle(buf.getInt());
+            case TC_STRING: {
+                String s = readUTF(buf, buf.getShort() & 0xffff);
+                handles.add(s);
+                return s;
+            }
+            case TC_LONGSTRING: {
+                long len = buf.getLong();
+                if (len > Integer.MAX_VALUE)
+                    throw new StreamCorruptedException("string too long");
+                String s = readUTF(buf, (int) len);
+                handles.add(s);
+                return s;
+            }
+            case TC_ARRAY: {
+                String className = readClassDesc(buf);
+                if (!"[B".equals(className))
+                    throw new StreamCorruptedException("unsupported array " + className);
+                int handle = handles.size();
+                handles.add(null);
+                int len = buf.getInt();
+                if (len < 0)
+                    throw new StreamCorruptedException("negative array size");
+                if (len > buf.remaining()) // 다 오기 전에 큰 배열부터 만들지 않는다
+                    throw new BufferUnderflowException();
+                byte[] array = new byte[len];
+                buf.get(array);
+                handles.set(handle, array);
+                return array;
+            }
+            default:
+                throw new StreamCorruptedException(String.format("unsupported type code: %02X", tc));
+        }
+    }
+
+    // 배열의 class descriptor 를 읽고 class 이름을 돌려준다. byte[] 은 필드가 없다.
+    private String readClassDesc(ByteBuffer buf) throws StreamCorruptedException {
+        byte tc = buf.get();
+        if (tc == TC_REFERENCE)
+            return (String) lookupHandle(buf.getInt());
+        if (tc != TC_CLASSDESC)
+            throw new StreamCorruptedException(String.format("unsupported class desc: %02X", tc));
+        String className = readUTF(buf, buf.getShort() & 0xffff);
+        buf.getLong(); // serialVersionUID
+        handles.add(className);
+        buf.get(); // flags
+        if (buf.getShort() != 0)
+            throw new StreamCorruptedException("unsupported class with fields " + className);
+        while (buf.get() != TC_ENDBLOCKDATA) // class annotation (비어 있음)
+            ;
+        if (buf.get() != TC_NULL) // super class desc
+            throw new StreamCorruptedException("unsupported super class " + className);
+        return className;
+    }
+
+    private Object lookupHandle(int wireHandle) throws StreamCorruptedException {
+        int idx = wireHandle - BASE_WIRE_HANDLE;
+        if (idx < 0 || idx >= handles.size())
+            throw new StreamCorruptedException("invalid handle value: " + wireHandle);
+        return handles.get(idx);
+    }
+
+    // DataInputStream.readUTF 와 같은 modified UTF-8
+    private static String readUTF(ByteBuffer buf, int len) throws StreamCorruptedException {
+        if (len > buf.remaining())
+            throw new BufferUnderflowException();
+        byte[] bytes = new byte[len];
+        buf.get(bytes);
+        char[] chars = new char[len];
+        int cnt = 0;
+        int i = 0;
+        while (i < len) {
+            int c = bytes[i] & 0xff;
+            if (c < 0x80) {
+                chars[cnt++] = (char) c;
+                i += 1;
+            } else if ((c >> 5) == 0x6 && i + 1 < len) {
+                chars[cnt++] = (char) (((c & 0x1f) << 6) | (bytes[i + 1] & 0x3f));
+                i += 2;
+            } else if ((c >> 4) == 0xe && i + 2 < len) {
+                chars[cnt++] = (char) (((c & 0x0f) << 12) | ((bytes[i + 1] & 0x3f) << 6) | (bytes[i + 2] & 0x3f));
+                i += 3;
+            } else {
+                throw new StreamCorruptedException("malformed input around byte " + i);
+            }
+        }
+        return new String(chars, 0, cnt);
+    }
+}
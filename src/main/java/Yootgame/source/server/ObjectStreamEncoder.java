@@ -0,0 +1,73 @@
+package Yootgame.source.server;
+
+import java.io.ByteArrayOutputStream;
+
+// ObjectStreamEncoder.java 클라이언트의 ObjectInputStream 이 읽는 직렬화 바이트를 ObjectOutputStream 없이 만든다.
+// 메시지마다 TC_RESET 으로 시작해서 앞 메시지의 handle 을 참조하지 않는다.
+// 그래서 같은 바이트를 어느 연결에 보내도 되고, 방 전체에 보낼 때 한 번만 만들면 된다.
+public final class ObjectStreamEncoder {
+    // ObjectOutputStream 의 stream header (STREAM_MAGIC, STREAM_VERSION)
+    public static final byte[] HEADER = { (byte) 0xac, (byte) 0xed, 0x00, 0x05 };
+
+    private static final byte TC_NULL = 0x70;
+    private static final byte TC_STRING = 0x74;
+    private static final byte TC_RESET = 0x79;
+    private static final byte TC_LONGSTRING = 0x7C;
+
+    private ObjectStreamEncoder() {
+    }
+
+    // writeObject(String) 를 차례로 한 것과 같은 바이트
+    public static byte[] encode(String... strings) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        out.write(TC_RESET);
+        for (String s : strings)
+            writeString(out, s);
+        return out.toByteArray();
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String s) {
+        if (s == null) {
+            out.write(TC_NULL);
+            return;
+        }
+        long len = utfLength(s);
+        if (len <= 0xffff) {
+            out.write(TC_STRING);
+            out.write((int) (len >>> 8));
+            out.write((int) len);
+        } else {
+            out.write(TC_LONGSTRING);
+            for (int shift = 56; shift >= 0; shift -= 8)
+                out.write((int) (len >>> shift));
+        }
+        // DataOutputStream.writeUTF 와 같은 modified UTF-8
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= 0x0001 && c <= 0x007f) {
+                out.write(c);
+            } else if (c <= 0x07ff) {
+                out.write(0xc0 | (c >> 6));
+                out.write(0x80 | (c & 0x3f));
+            } else {
+                out.write(0xe0 | (c >> 12));
+                out.write(0x80 | ((c >> 6) & 0x3f));
+                out.write(0x80 | (c & 0x3f));
+            }
+        }
+    }
+
+    private static long utfLength(String s) {
+        long len = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= 0x0001 && c <= 0x007f)
+                len += 1;
+            else if (c <= 0x07ff)
+                len += 2;
+            else
+                len += 3;
+        }
+        return len;
+    }
+}
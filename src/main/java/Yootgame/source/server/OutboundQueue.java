@@ -0,0 +1,93 @@
+package Yootgame.source.server;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// OutboundQueue.java 접속 하나가 아직 보내지 못한 메시지. 길이에 한도가 있다.
+// 방송하는 스레드는 넣기만 하고, 실제 소켓 write 는 그 접속의 writer 가 한다.
+// 가득 차면 버려도 되는 메시지(채팅)는 오래된 것부터 버리고, 게임 상태가 밀리면 offer() 가 false 를 돌려준다.
+// 그때는 접속을 끊는다. 게임 상태를 하나라도 빠뜨리면 클라이언트의 판이 서버와 달라진다.
+public final class OutboundQueue {
+    private final ArrayDeque<EncodedMessage> queue = new ArrayDeque<>();
+    private final int capacity;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private boolean closed = false;
+
+    public OutboundQueue(int capacity) {
+        this.capacity = capacity;
+    }
+
+    // 넣었거나 채팅을 버렸으면 true. 게임 상태가 밀려서 접속을 끊어야 하면 false
+    public boolean offer(EncodedMessage msg) {
+        lock.lock();
+        try {
+            if (closed)
+                return true; // 닫히는 중. 보내지 않는다
+            if (queue.size() >= capacity && !dropOldestDroppable()) {
+                if (msg.isDroppable())
+                    return true; // 밀린 것이 모두 게임 상태면 새 채팅을 버린다
+                return false;
+            }
+            queue.add(msg);
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 다음 메시지. 없으면 null
+    public EncodedMessage poll() {
+        lock.lock();
+        try {
+            return queue.poll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 다음 메시지가 올 때까지 기다린다. 닫혔고 남은 것이 없으면 null
+    public EncodedMessage take() throws InterruptedException {
+        lock.lock();
+        try {
+            while (queue.isEmpty() && !closed)
+                notEmpty.await();
+            return queue.poll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 더 받지 않는다. 이미 들어온 것은 take()/poll() 로 꺼낼 수 있다
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean dropOldestDroppable() {
+        for (Iterator<EncodedMessage> it = queue.iterator(); it.hasNext();) {
+            if (it.next().isDroppable()) {
+                it.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+}
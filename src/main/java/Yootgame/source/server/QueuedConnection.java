@@ -0,0 +1,60 @@
+package Yootgame.source.server;
+
+import java.io.IOException;
+
+// QueuedConnection.java 블로킹 연결에 보내는 큐(OutboundQueue)와 writer 스레드를 붙인다.
+// write() 는 큐에 넣고 바로 돌아오므로, 방송하는 스레드가 느린 클라이언트의 소켓 write 에서 멈추지 않는다.
+// 보내다가 실패하거나 큐가 넘치면 소켓을 닫기만 한다. Logout 은 그 사용자의 읽는 스레드가 IOException 을 받고 한다.
+public class QueuedConnection implements BlockingConnection {
+    private final BlockingConnection target;
+    private final OutboundQueue queue;
+
+    public QueuedConnection(BlockingConnection target, int capacity, Thread.Builder writerThreads) {
+        this.target = target;
+        this.queue = new OutboundQueue(capacity);
+        writerThreads.start(this::drain);
+    }
+
+    @Override
+    public ChatMsg read() throws IOException {
+        return target.read();
+    }
+
+    @Override
+    public void write(EncodedMessage msg) throws IOException {
+        if (!queue.offer(msg)) {
+            abort();
+            throw new IOException("outbound queue full");
+        }
+    }
+
+    @Override
+    public int pendingWrites() {
+        return queue.size();
+    }
+
+    // 이미 넣은 메시지는 writer 가 다 보낸 뒤에 닫는다
+    @Override
+    public void close() {
+        queue.close();
+    }
+
+    private void abort() {
+        queue.close();
+        target.close(); // writer 가 write 에서 멈춰 있어도 풀린다
+    }
+
+    private void drain() {
+        try {
+            EncodedMessage msg;
+            while ((msg = queue.take()) != null)
+                target.write(msg);
+        } catch (IOException e) {
+            // 끊긴 연결. 읽는 스레드도 곧 알게 된다
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            abort();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package Yootgame.source.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+// RoomManager.java 서버 하나에서 여러 게임 방을 관리한다.
+// 새 접속은 자리가 남은 대기 방에 배정하고, 없으면 방을 새로 만든다.
+// 방마다 작업(GameRoom.execute)은 executor 위에서 하나씩 돈다.
+// 방의 윷 seed 는 rollSeed 와 방 번호로 정한다. rollSeed 를 주면 같은 순서로 만든 방은 항상 같은 윷이 나온다.
+public class RoomManager {
+    public static final int DEFAULT_MAX_ROOMS = 500;
+
+    private final int maxRooms;
+    private final Executor roomExecutor;
+    private final List<GameRoom> rooms = new ArrayList<>();
+    private final long rollSeed;
+    private int nextRoomId = 1;
+
+    public RoomManager() {
+        this(DEFAULT_MAX_ROOMS, Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "room-worker");
+            t.setDaemon(true);
+            return t;
+        }), new SplittableRandom().nextLong());
+    }
+
+    public RoomManager(int maxRooms, Executor roomExecutor, long rollSeed) {
+        this.maxRooms = maxRooms;
+        this.roomExecutor = roomExecutor;
+        this.rollSeed = rollSeed;
+    }
+
+    // 참가자를 방에 넣고 그 방을 돌려준다. 모든 방이 가득 차 있고 더 만들 수 없으면 null
+    public synchronized GameRoom enter(Object user) {
+        for (GameRoom r : rooms) {
+            if (r.add(user))
+                return r;
+        }
+        if (rooms.size() >= maxRooms)
+            return null;
+        int roomId = nextRoomId++;
+        GameRoom room = new GameRoom(roomId, roomExecutor, roomSeed(roomId));
+        rooms.add(room);
+        room.add(user);
+        return room;
+    }
+
+    // 참가자를 방에서 빼고, 빈 방은 목록에서 지운다
+    public synchronized void leave(GameRoom room, Object user) {
+        room.remove(user);
+        if (room.isEmpty())
+            rooms.remove(room);
+    }
+
+    // 지금 방 목록의 복사본
+    public synchronized List<GameRoom> getRooms() {
+        return List.copyOf(rooms);
+    }
+
+    public synchronized int getRoomCount() {
+        return rooms.size();
+    }
+
+    public int getMaxRooms() {
+        return maxRooms;
+    }
+
+    public long getRollSeed() {
+        return rollSeed;
+    }
+
+    // 방 번호마다 다른 seed. 비슷한 seed 가 비슷한 수열을 만들지 않도록 한 번 섞는다
+    private long roomSeed(int roomId) {
+        return new SplittableRandom(rollSeed + roomId * 0x9E3779B97F4A7C15L).nextLong();
+    }
+}
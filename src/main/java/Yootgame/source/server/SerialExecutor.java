@@ -0,0 +1,35 @@
+package Yootgame.source.server;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+// SerialExecutor.java 공유 스레드 풀 위에서 작업을 넣은 순서대로 하나씩 실행한다.
+// 같은 SerialExecutor 에 넣은 작업끼리는 동시에 돌지 않는다.
+public class SerialExecutor implements Executor {
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private final Executor executor;
+    private Runnable active;
+
+    public SerialExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public synchronized void execute(Runnable r) {
+        tasks.add(() -> {
+            try {
+                r.run();
+            } finally {
+                scheduleNext();
+            }
+        });
+        if (active == null)
+            scheduleNext();
+    }
+
+    private synchronized void scheduleNext() {
+        if ((active = tasks.poll()) != null)
+            executor.execute(active);
+    }
+}
@@ -0,0 +1,78 @@
+package Yootgame.source.server;
+
+import java.util.SplittableRandom;
+
+// ServerConfig.java 서버 설정. 시스템 프로퍼티(-Dyut.xxx)를 읽고, 명령행 인자(--xxx=값)가 있으면 그것으로 덮어쓴다.
+//
+//   --port=30000          -Dyut.port
+//   --max-rooms=500       -Dyut.maxRooms
+//   --transport=nio       -Dyut.transport      (blocking | nio)
+//   --nio-loops=2         -Dyut.nio.loops
+//   --virtual-threads     -Dyut.virtualThreads
+//   --out-queue=256       -Dyut.outQueue       접속마다 쌓아 둘 수 있는 보낼 메시지 수
+//   --metrics-port=9100   -Dyut.metricsPort    127.0.0.1 의 GET /metrics 포트. 0 이면 열지 않는다 (JMX 는 항상)
+//   --roll-seed=42        -Dyut.rollSeed       윷 seed 를 고정한다 (테스트, 대회 결과 확인). 없으면 매번 다르다
+public record ServerConfig(int port, int maxRooms, boolean nio, int nioLoops, boolean virtualThreads,
+        int outQueueLen, int metricsPort, Long rollSeed) {
+    public static final int DEFAULT_PORT = 30000;
+
+    public static ServerConfig fromProperties() {
+        return new ServerConfig(
+                Integer.getInteger("yut.port", DEFAULT_PORT),
+                Integer.getInteger("yut.maxRooms", RoomManager.DEFAULT_MAX_ROOMS),
+                "nio".equals(System.getProperty("yut.transport")),
+                Integer.getInteger("yut.nio.loops", 2),
+                Boolean.getBoolean("yut.virtualThreads"),
+                Integer.getInteger("yut.outQueue", 256),
+                Integer.getInteger("yut.metricsPort", 0),
+                Long.getLong("yut.rollSeed"));
+    }
+
+    // 시스템 프로퍼티 위에 명령행 인자를 덮어쓴다. 모르는 인자면 IllegalArgumentException
+    public static ServerConfig parse(String[] args) {
+        ServerConfig config = fromProperties();
+        for (String arg : args) {
+            if (!arg.startsWith("--"))
+                throw new IllegalArgumentException("unknown argument: " + arg);
+            int eq = arg.indexOf('=');
+            String key = eq == -1 ? arg.substring(2) : arg.substring(2, eq);
+            String value = eq == -1 ? "true" : arg.substring(eq + 1);
+            config = config.with(key, value);
+        }
+        return config;
+    }
+
+    // 고정 seed 가 없으면 서버를 켤 때마다 새로 뽑는다
+    public long rollSeedOrRandom() {
+        return rollSeed != null ? rollSeed : new SplittableRandom().nextLong();
+    }
+
+    public ServerConfig withPort(int port) {
+        return new ServerConfig(port, maxRooms, nio, nioLoops, virtualThreads, outQueueLen, metricsPort, rollSeed);
+    }
+
+    private ServerConfig with(String key, String value) {
+        switch (key) {
+            case "port":
+                return withPort(Integer.parseInt(value));
+            case "max-rooms":
+                return new ServerConfig(port, Integer.parseInt(value), nio, nioLoops, virtualThreads, outQueueLen, metricsPort, rollSeed);
+            case "transport":
+                if (!value.equals("nio") && !value.equals("blocking"))
+                    throw new IllegalArgumentException("transport must be blocking or nio: " + value);
+                return new ServerConfig(port, maxRooms, value.equals("nio"), nioLoops, virtualThreads, outQueueLen, metricsPort, rollSeed);
+            case "nio-loops":
+                return new ServerConfig(port, maxRooms, nio, Integer.parseInt(value), virtualThreads, outQueueLen, metricsPort, rollSeed);
+            case "virtual-threads":
+                return new ServerConfig(port, maxRooms, nio, nioLoops, Boolean.parseBoolean(value), outQueueLen, metricsPort, rollSeed);
+            case "out-queue":
+                return new ServerConfig(port, maxRooms, nio, nioLoops, virtualThreads, Integer.parseInt(value), metricsPort, rollSeed);
+            case "metrics-port":
+                return new ServerConfig(port, maxRooms, nio, nioLoops, virtualThreads, outQueueLen, Integer.parseInt(value), rollSeed);
+            case "roll-seed":
+                return new ServerConfig(port, maxRooms, nio, nioLoops, virtualThreads, outQueueLen, metricsPort, Long.valueOf(value));
+            default:
+                throw new IllegalArgumentException("unknown option: --" + key);
+        }
+    }
+}
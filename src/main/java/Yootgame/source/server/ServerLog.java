@@ -0,0 +1,8 @@
+package Yootgame.source.server;
+
+// ServerLog.java 서버가 남기는 로그 한 줄을 받는 곳. GUI 면 화면의 콘솔(ConsoleLog), headless 면 Log 의 "server" 카테고리.
+// 세션 스레드와 방 작업 스레드에서 불리므로 구현은 오래 막히면 안 된다.
+@FunctionalInterface
+public interface ServerLog {
+    void log(String line);
+}
@@ -0,0 +1,30 @@
+package Yootgame.source.server;
+
+import Yootgame.source.log.Log;
+
+// ServerMain.java 화면 없이 서버를 실행한다. 디스플레이가 없는 리눅스 서버용.
+//   java -cp ... Yootgame.source.server.ServerMain --port=30000 --max-rooms=200 --transport=nio
+// 설정 인자는 ServerConfig 참고. 로그는 Log 의 "server" 카테고리(INFO)로 표준 출력에 쓴다.
+// -Dyut.log 나 -Dyut.log.server 를 주면 그 레벨을 따른다.
+public class ServerMain {
+    public static void main(String[] args) throws Exception {
+        ServerConfig config;
+        try {
+            config = ServerConfig.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        if (System.getProperty("yut.log") == null && System.getProperty("yut.log.server") == null)
+            Log.setLevel("server", Log.Level.INFO); // 접속, 퇴장 같은 서버 로그는 기본으로 보인다
+        Log serverLog = Log.get("server");
+        GameServer server = new GameServer(config, serverLog::info);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            Log.flush(1000);
+        }, "server-shutdown"));
+        server.start();
+        server.awaitStop();
+    }
+}
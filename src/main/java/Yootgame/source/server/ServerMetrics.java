@@ -0,0 +1,246 @@
+package Yootgame.source.server;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.IntSummaryStatistics;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+// ServerMetrics.java 서버 지표. opcode 별 메시지 수와 처리 시간, 방별 메시지 수, 주고받은 바이트,
+// 접속 수, 턴 시간, 보내는 큐 길이를 모은다.
+// 세는 쪽은 LongAdder/LatencyHistogram 에 더하기만 하고, 접속 수와 큐 길이는 읽을 때 방을 돌며 센다.
+// JMX(ServerMetricsMXBean)와 127.0.0.1 의 plain text 엔드포인트(GET /metrics)로 내보낸다.
+public class ServerMetrics implements ServerMetricsMXBean {
+    // 클라이언트 -> 서버 opcode. 나머지는 "other" 로 센다
+    private static final String[] OPCODES = { "100", "103", "104", "200", "300", "400", "501", "504", "506", "999" };
+    private static final int OTHER = OPCODES.length;
+    private static final Map<String, Integer> OPCODE_IDX = new HashMap<>();
+
+    static {
+        for (int i = 0; i < OPCODES.length; i++)
+            OPCODE_IDX.put(OPCODES[i], i);
+    }
+
+    private final LongAdder[] messages = new LongAdder[OPCODES.length + 1];
+    private final LatencyHistogram[] latency = new LatencyHistogram[OPCODES.length + 1]; // 마이크로초
+    private final LatencyHistogram turnDuration = new LatencyHistogram(); // 밀리초
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+    private final Supplier<List<GameRoom>> rooms;
+    // 지금 접속마다 보내는 큐에 쌓인 메시지 수
+    private final Supplier<IntSummaryStatistics> queueDepths;
+    private HttpServer http;
+
+    public ServerMetrics(Supplier<List<GameRoom>> rooms, Supplier<IntSummaryStatistics> queueDepths) {
+        this.rooms = rooms;
+        this.queueDepths = queueDepths;
+        for (int i = 0; i < messages.length; i++) {
+            messages[i] = new LongAdder();
+            latency[i] = new LatencyHistogram();
+        }
+    }
+
+    // 받은 메시지 하나를 처리하는 데 걸린 시간
+    public void recordMessage(GameRoom room, String code, long nanos) {
+        int idx = OPCODE_IDX.getOrDefault(code, OTHER);
+        messages[idx].increment();
+        latency[idx].record(nanos / 1000);
+        if (room != null)
+            room.messageCount.increment();
+    }
+
+    public void recordTurn(long nanos) {
+        turnDuration.record(nanos / 1_000_000);
+    }
+
+    public void addBytesIn(long n) {
+        bytesIn.add(n);
+    }
+
+    public void addBytesOut(long n) {
+        bytesOut.add(n);
+    }
+
+    // 소켓에서 읽은 바이트를 센다
+    public InputStream countIn(InputStream in) {
+        return new FilterInputStream(in) {
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b != -1)
+                    bytesIn.increment();
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int n = super.read(b, off, len);
+                if (n > 0)
+                    bytesIn.add(n);
+                return n;
+            }
+        };
+    }
+
+    // 소켓에 쓴 바이트를 센다
+    public OutputStream countOut(OutputStream out) {
+        return new FilterOutputStream(out) {
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+                bytesOut.increment();
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len); // FilterOutputStream 은 한 바이트씩 쓰므로 바로 넘긴다
+                bytesOut.add(len);
+            }
+        };
+    }
+
+    public void registerMBean(int port) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this,
+                    new ObjectName("Yootgame.source.server:type=ServerMetrics,port=" + port));
+        } catch (JMException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 127.0.0.1:port 의 GET /metrics. 밖에서는 접속할 수 없다
+    public void startHttp(int port) throws IOException {
+        http = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        http.createContext("/metrics", exchange -> {
+            byte[] body = scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        http.start();
+    }
+
+    public void stop() {
+        if (http != null)
+            http.stop(0);
+    }
+
+    // Prometheus text 형식
+    public String scrape() {
+        StringBuilder sb = new StringBuilder(2048);
+        IntSummaryStatistics depths = queueDepths.get();
+        List<GameRoom> roomList = rooms.get();
+        line(sb, "yut_sessions_active", "", depths.getCount());
+        line(sb, "yut_rooms", "", roomList.size());
+        line(sb, "yut_bytes_in_total", "", bytesIn.sum());
+        line(sb, "yut_bytes_out_total", "", bytesOut.sum());
+        line(sb, "yut_outbound_queue_depth_max", "", depths.getCount() == 0 ? 0 : depths.getMax());
+        line(sb, "yut_outbound_queue_depth_sum", "", depths.getSum());
+        for (int i = 0; i < messages.length; i++) {
+            long n = messages[i].sum();
+            if (n == 0)
+                continue;
+            String op = "opcode=\"" + opcodeName(i) + "\"";
+            line(sb, "yut_messages_total", op, n);
+            histogram(sb, "yut_handler_latency_us", op, latency[i]);
+        }
+        histogram(sb, "yut_turn_duration_ms", "", turnDuration);
+        for (GameRoom room : roomList)
+            line(sb, "yut_room_messages_total", "room=\"" + room.getRoomId() + "\"", room.messageCount.sum());
+        return sb.toString();
+    }
+
+    @Override
+    public int getActiveSessions() {
+        return (int) queueDepths.get().getCount();
+    }
+
+    @Override
+    public int getRoomCount() {
+        return rooms.get().size();
+    }
+
+    @Override
+    public long getBytesIn() {
+        return bytesIn.sum();
+    }
+
+    @Override
+    public long getBytesOut() {
+        return bytesOut.sum();
+    }
+
+    @Override
+    public int getOutboundQueueDepthMax() {
+        IntSummaryStatistics depths = queueDepths.get();
+        return depths.getCount() == 0 ? 0 : depths.getMax();
+    }
+
+    @Override
+    public long getOutboundQueueDepthTotal() {
+        return queueDepths.get().getSum();
+    }
+
+    @Override
+    public Map<String, Long> getMessageCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (int i = 0; i < messages.length; i++)
+            counts.put(opcodeName(i), messages[i].sum());
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getHandlerLatencyP99Micros() {
+        Map<String, Long> p99 = new LinkedHashMap<>();
+        for (int i = 0; i < latency.length; i++)
+            p99.put(opcodeName(i), latency[i].percentile(0.99));
+        return p99;
+    }
+
+    @Override
+    public long getTurnDurationP50Millis() {
+        return turnDuration.percentile(0.5);
+    }
+
+    @Override
+    public long getTurnDurationP99Millis() {
+        return turnDuration.percentile(0.99);
+    }
+
+    private static String opcodeName(int idx) {
+        return idx == OTHER ? "other" : OPCODES[idx];
+    }
+
+    private static void histogram(StringBuilder sb, String name, String labels, LatencyHistogram h) {
+        String sep = labels.isEmpty() ? "" : labels + ",";
+        line(sb, name, sep + "quantile=\"0.5\"", h.percentile(0.5));
+        line(sb, name, sep + "quantile=\"0.99\"", h.percentile(0.99));
+        line(sb, name, sep + "quantile=\"1\"", h.getMax());
+        line(sb, name + "_sum", labels, h.getSum());
+        line(sb, name + "_count", labels, h.getCount());
+    }
+
+    private static void line(StringBuilder sb, String name, String labels, long value) {
+        sb.append(name);
+        if (!labels.isEmpty())
+            sb.append('{').append(labels).append('}');
+        sb.append(' ').append(value).append('\n');
+    }
+}
@@ -0,0 +1,29 @@
+package Yootgame.source.server;
+
+import java.util.Map;
+
+// ServerMetricsMXBean.java JMX 로 보이는 서버 지표 (jconsole 의 Yootgame.source.server:type=ServerMetrics).
+// 지연 시간은 마이크로초, 턴 시간은 밀리초.
+public interface ServerMetricsMXBean {
+    int getActiveSessions();
+
+    int getRoomCount();
+
+    long getBytesIn();
+
+    long getBytesOut();
+
+    int getOutboundQueueDepthMax();
+
+    long getOutboundQueueDepthTotal();
+
+    // opcode -> 받은 메시지 수
+    Map<String, Long> getMessageCounts();
+
+    // opcode -> 처리 시간 99 퍼센타일
+    Map<String, Long> getHandlerLatencyP99Micros();
+
+    long getTurnDurationP50Millis();
+
+    long getTurnDurationP99Millis();
+}
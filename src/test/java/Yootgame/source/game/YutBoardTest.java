@@ -0,0 +1,136 @@
+package Yootgame.source.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// YutBoard 표가 예전 getArrowIdx(서버, 클라이언트) 와 클라이언트의 빽도 계산과 같은지 모든 (칸, 윷 결과) 로 확인한다.
+// 예전 계산이 틀렸던 칸은 DEFECTS 에 따로 적고 고친 값을 확인한다.
+class YutBoardTest {
+    private static final int[] ROLLS = { -1, 1, 2, 3, 4, 5 };
+
+    // "출발 칸,윷 결과" -> 고친 도착 칸
+    private static final Map<String, Integer> DEFECTS = Map.ofEntries(
+            Map.entry("-1,-1", -1), // 판에 없는 말의 빽도 (예전 -2)
+            Map.entry("25,1", 26), // 예전에는 제자리 25
+            Map.entry("26,5", 15), // 28 -> 14 다음은 15. 예전 계산은 13 으로 거꾸로 갔다
+            Map.entry("27,3", 15),
+            Map.entry("27,4", 16),
+            Map.entry("27,5", 17),
+            Map.entry("28,2", 15),
+            Map.entry("28,3", 16),
+            Map.entry("28,4", 17),
+            Map.entry("28,5", 18),
+            Map.entry("27,-1", 22)); // 27 앞 칸은 가운데 22 (예전 26)
+
+    @Test
+    void matchesLegacyForEveryPositionAndRoll() {
+        for (int from = YutBoard.HOME; from < YutBoard.GOAL; from++) {
+            for (int roll : ROLLS) {
+                Integer fixed = DEFECTS.get(from + "," + roll);
+                int expected = fixed != null ? fixed : legacy(from, roll);
+                assertEquals(expected, YutBoard.next(from, roll), "from " + from + " roll " + roll);
+            }
+        }
+    }
+
+    @Test
+    void defectsReallyDifferFromLegacy() {
+        for (String key : DEFECTS.keySet()) {
+            String[] fromRoll = key.split(",");
+            int from = Integer.parseInt(fromRoll[0]);
+            int roll = Integer.parseInt(fromRoll[1]);
+            int fixed = DEFECTS.get(key);
+            assertNotEquals(legacy(from, roll), fixed, key);
+        }
+    }
+
+    @Test
+    void shortcutsFromCornersAndCenter() {
+        assertEquals(25, YutBoard.next(4, 1));
+        assertEquals(22, YutBoard.next(4, 3));
+        assertEquals(22, YutBoard.next(9, 3));
+        assertEquals(23, YutBoard.next(22, 1));
+        assertEquals(YutBoard.GOAL, YutBoard.next(22, 3));
+        assertEquals(YutBoard.GOAL, YutBoard.next(19, 1));
+        assertEquals(4, YutBoard.next(YutBoard.HOME, 5));
+    }
+
+    // 지나간 칸들에서 한 칸 더 가면 next() 의 도착 칸이다. 모서리, 가운데를 지나갈 때 지름길로 꺾지 않는다
+    @Test
+    void pathFollowsTheSameRouteAsNext() {
+        for (int from = YutBoard.HOME; from < YutBoard.GOAL; from++) {
+            for (int roll : ROLLS) {
+                String at = "from " + from + " roll " + roll;
+                byte[] path = YutBoard.path(from, roll);
+                if (roll == YutBoard.BACKDO) {
+                    assertEquals(0, path.length, at);
+                    continue;
+                }
+                for (int i = 0; i < path.length; i++)
+                    assertEquals(YutBoard.next(from, i + 1), path[i], at);
+                assertEquals(YutBoard.next(from, roll), YutBoard.next(from, path.length + 1), at);
+                assertTrue(path.length == roll - 1 || path[path.length - 1] == YutBoard.GOAL, at);
+            }
+        }
+        assertArrayEquals(new byte[] { 4, 5 }, YutBoard.path(3, 3));
+        assertArrayEquals(new byte[] { 25, 26, 22, 27 }, YutBoard.path(4, 5));
+        assertArrayEquals(new byte[] { 22, 27 }, YutBoard.path(26, 3));
+        assertArrayEquals(new byte[] { 9, 10 }, YutBoard.path(8, 3));
+    }
+
+    @Test
+    void goalStaysAtGoal() {
+        for (int roll : ROLLS)
+            assertEquals(YutBoard.GOAL, YutBoard.next(YutBoard.GOAL, roll));
+    }
+
+    private static int legacy(int objectPos, int roll) {
+        return roll == -1 ? legacyBackdo(objectPos) : legacyGetArrowIdx(objectPos, roll - 1);
+    }
+
+    // 예전 YutGameClientView 의 빽도 계산
+    private static int legacyBackdo(int objectPos) {
+        if (objectPos == 0)
+            return 19;
+        else if (objectPos == 25)
+            return 4;
+        else if (objectPos == 20)
+            return 9;
+        else
+            return objectPos - 1;
+    }
+
+    // 예전 YutGameServer.UserService / YutGameClientView 의 getArrowIdx 그대로
+    private static int legacyGetArrowIdx(int objectPos, int moveDist) {
+        int arrowIdx = 0;
+
+        if (objectPos == 4) {
+            if (moveDist == 2) arrowIdx = 22;
+            else if(moveDist == 0 || moveDist == 1) arrowIdx = 25 + moveDist;
+            else arrowIdx = 25 + moveDist - 1;
+        } else if (objectPos == 9) {
+            arrowIdx = 20 + moveDist;
+        } else if (objectPos >= 15 && objectPos <= 19) {
+            if (objectPos + moveDist + 1 > 19)
+                arrowIdx = 29; // 도착 시 처리
+            else arrowIdx = objectPos + moveDist + 1;
+        } else if (objectPos >= 20 && objectPos <= 24) {
+            if (objectPos + moveDist + 1 > 24) arrowIdx = 29;  // 도착 시 처리
+            else arrowIdx = objectPos + moveDist + 1;
+        } else if (objectPos >= 25 && objectPos <= 26) {
+            if(moveDist == 1 && objectPos == 25) arrowIdx = 22;
+            else if(moveDist == 0 && objectPos == 26) arrowIdx = 22;
+            else if(moveDist + objectPos <= 28) arrowIdx = moveDist + objectPos;
+            else arrowIdx = 14 + (29 - moveDist - objectPos);
+        }else if(objectPos >= 27 && objectPos <= 28) {
+            if(objectPos == 27 && moveDist == 0) arrowIdx = 28;
+            else arrowIdx = 14 + 28 - objectPos - moveDist;
+        }else {
+            arrowIdx = objectPos + moveDist + 1;
+        }
+        return arrowIdx;
+    }
+}